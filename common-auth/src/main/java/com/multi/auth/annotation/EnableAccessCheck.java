@@ -0,0 +1,15 @@
+package com.multi.auth.annotation;
+
+import com.multi.auth.configuration.AccessCheckConfigurationSelector;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Import(AccessCheckConfigurationSelector.class)
+public @interface EnableAccessCheck {
+}
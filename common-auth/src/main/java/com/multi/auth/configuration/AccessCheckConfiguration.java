@@ -0,0 +1,71 @@
+package com.multi.auth.configuration;
+
+import com.multi.auth.filter.AccessCheckFilter;
+import com.multi.auth.token.JwksKeys;
+import com.multi.auth.token.JwtVerifier;
+import com.multi.auth.token.TokenVerifier;
+import com.multi.process.rest.annotation.RestServer;
+import com.multi.process.rest.service.RestApiService;
+import com.multi.properties.Auth;
+import com.multi.properties.ProjectData;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class AccessCheckConfiguration {
+    /**
+     * project-data.yml 의 auth.issuers 별로 JWKS 를 가져와서 토큰을 검증함
+     * JWKS 는 RestApiService.getCached() 로 가져오므로 서버의 Cache-Control, ETag 를 따라 재사용됨
+     * audience 가 비어있거나 ${...} 값을 찾을 수 없는 발급처가 있으면 시작하지 않음 (aud 를 검사하지 않으면 다른 클라이언트용 토큰도 통과됨)
+     */
+    @Bean
+    public JwtVerifier jwtVerifier(ProjectData projectData, RestApiService<String> restApiService, Environment environment) {
+        Auth auth = getAuth(projectData);
+        Map<String, JwtVerifier.IssuerKeys> issuers = new HashMap<>();
+        for (Auth.Issuer issuer : auth.getIssuers()) {
+            String audience = StringUtils.isBlank(issuer.getAudience()) ? null : environment.resolveRequiredPlaceholders(issuer.getAudience());
+            if (StringUtils.isBlank(audience)) {
+                throw new IllegalArgumentException("No audience configured for auth issuer " + issuer.getIssuer());
+            }
+            RestServer server = getRestServer(issuer.getServer());
+            JwksKeys keys = new JwksKeys(issuer.getIssuer(), () -> restApiService.getCached(server, issuer.getJwksPath(), String.class).getBody(),
+                    auth.getJwksRefreshMillis(), auth.getJwksMinRefreshMillis());
+            JwtVerifier.IssuerKeys issuerKeys = new JwtVerifier.IssuerKeys(keys, audience);
+            issuers.put(issuer.getIssuer(), issuerKeys);
+            for (String alias : issuer.getAliases()) issuers.put(alias, issuerKeys);
+        }
+        return new JwtVerifier(issuers, auth.getClockSkewMillis());
+    }
+
+    @Bean
+    public TokenVerifier tokenVerifier(ProjectData projectData, JwtVerifier jwtVerifier) {
+        return new TokenVerifier(jwtVerifier, getAuth(projectData));
+    }
+
+    /**
+     * HTTP 로그 필터(multiHttpFilter) 다음에 실행되므로, 거부된 요청도 로깅됨
+     */
+    @Bean(name = "accessCheckFilter")
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    public OncePerRequestFilter accessCheckFilter(ProjectData projectData, TokenVerifier tokenVerifier) {
+        Auth auth = getAuth(projectData);
+        return new AccessCheckFilter(tokenVerifier, auth.getProtectedPaths(), auth.getExcludedPaths());
+    }
+
+    private static RestServer getRestServer(String key) {
+        for (RestServer server : RestServer.values()) {
+            if (server.getKey().equals(key)) return server;
+        }
+        throw new IllegalArgumentException("Unknown auth issuer server " + key);
+    }
+
+    private static Auth getAuth(ProjectData projectData) {
+        return projectData.getAuth() == null ? new Auth() : projectData.getAuth();
+    }
+}
@@ -0,0 +1,17 @@
+package com.multi.auth.configuration;
+
+import com.multi.auth.controller.AuthMetricsController;
+import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.type.AnnotationMetadata;
+
+public class AccessCheckConfigurationSelector implements ImportSelector {
+    @Override
+    public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+
+        return new String[]{
+                AccessCheckConfiguration.class.getName(),
+                AuthMetricsController.class.getName()
+        };
+
+    }
+}
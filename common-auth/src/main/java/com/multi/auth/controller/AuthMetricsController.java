@@ -0,0 +1,28 @@
+package com.multi.auth.controller;
+
+import com.multi.auth.token.TokenVerifier;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Bearer 토큰 검증 상태를 조회하는 엔드포인트
+ */
+@Api(tags = "인증 지표-API")
+@RestController
+@RequestMapping("/v1/api/metrics")
+public class AuthMetricsController {
+    @Autowired
+    TokenVerifier tokenVerifier;
+
+    @ApiOperation(value = "검증 결과 캐시 적중/미스 수, 서명 검증 시간과 캐시 적중 시간의 백분위수(마이크로초)")
+    @RequestMapping(value = "/auth", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public Map<String, Object> getAuthMetrics() {
+        return tokenVerifier.snapshot();
+    }
+}
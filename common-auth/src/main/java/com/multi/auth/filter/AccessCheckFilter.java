@@ -0,0 +1,87 @@
+package com.multi.auth.filter;
+
+import com.multi.auth.token.AuthToken;
+import com.multi.auth.token.TokenVerifier;
+import com.multi.common.core.exception.BusinessException;
+import com.multi.common.core.exception.CommonException;
+import com.multi.common.core.util.JsonUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_USER_DATA;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_DENIED;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NETWORK;
+import static com.multi.common.core.util.ResultInfoUtil.setResultInfo;
+
+/**
+ * protectedPaths 로 들어온 요청의 Authorization: Bearer 토큰을 검증하는 필터
+ * 검증된 토큰은 리퀘스트 속성 AUTH_TOKEN 에 담고, 실패하면 컨트롤러를 호출하지 않고 ResultInfo 로 응답함
+ *  - 토큰이 없거나 잘못됨 : 401
+ *  - 서명 키를 가져오지 못함 : 503
+ */
+public class AccessCheckFilter extends OncePerRequestFilter {
+    public static final String AUTH_TOKEN = "authToken";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final List<String> protectedPaths;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AccessCheckFilter(TokenVerifier tokenVerifier, List<String> protectedPaths, List<String> excludedPaths) {
+        this.tokenVerifier = tokenVerifier;
+        this.protectedPaths = protectedPaths;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !matches(protectedPaths, path) || matches(excludedPaths, path);
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        if (patterns == null) return false;
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            reject(response, new BusinessException(ERROR_USER_DATA, ERROR_ACCESS_DENIED, "Bearer token is required"));
+            return;
+        }
+
+        AuthToken authToken;
+        try {
+            authToken = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        } catch (CommonException e) {
+            reject(response, e);
+            return;
+        }
+
+        request.setAttribute(AUTH_TOKEN, authToken);
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, CommonException e) throws IOException {
+        response.setStatus(e.getReason() == ERROR_NETWORK ? HttpStatus.SERVICE_UNAVAILABLE.value() : HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(JsonUtils.toJson(setResultInfo(e)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.multi.auth.token;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검증된 Bearer 토큰(JWT)의 정보, 필터가 리퀘스트 속성(AccessCheckFilter.AUTH_TOKEN)에 담아둠
+ */
+@Getter
+public class AuthToken {
+    private final String issuer;
+    private final String subject;
+    private final List<String> audience;
+    private final long expiresAtMillis;
+    private final Map<String, Object> claims;
+
+    public AuthToken(String issuer, String subject, List<String> audience, long expiresAtMillis, Map<String, Object> claims) {
+        this.issuer = issuer;
+        this.subject = subject;
+        this.audience = Collections.unmodifiableList(audience);
+        this.expiresAtMillis = expiresAtMillis;
+        this.claims = Collections.unmodifiableMap(claims);
+    }
+}
@@ -0,0 +1,128 @@
+package com.multi.auth.token;
+
+import com.multi.common.core.exception.BusinessException;
+import com.multi.common.core.exception.CommonException;
+import com.multi.common.core.util.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
+import static com.multi.common.core.exception.ErrorType.ERROR_USER_DATA;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_DENIED;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NETWORK;
+
+/**
+ * 발급처(iss) 하나의 서명 키 목록 (JWKS), 요청마다 가져오지 않고 메모리에 두고 사용함
+ *
+ *  - 처음 사용할 때 가져오고, refreshMillis 가 지나면 다시 가져옴 (다른 스레드가 가져오는 중이라면 기다리지 않고 기존 키를 사용함)
+ *  - 모르는 kid 를 받으면 키가 교체됐을 수 있으므로 다시 가져오되, minRefreshMillis 간격 안에서는 한번만 가져옴
+ *  - 가져오기에 실패하면 기존 키를 계속 사용함, 한번도 가져오지 못했다면 CommonException(ERROR_NETWORK)
+ * RSA 키(kty RSA)만 사용함
+ */
+@Slf4j
+public class JwksKeys {
+    private final String issuer;
+    private final Supplier<String> fetcher;
+    private final long refreshMillis;
+    private final long minRefreshMillis;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, PublicKey> keys;
+    private volatile long fetchedAt;
+    private volatile long lastAttemptAt;
+
+    /**
+     * @param fetcher JWKS JSON 을 가져오는 함수
+     */
+    public JwksKeys(String issuer, Supplier<String> fetcher, long refreshMillis, long minRefreshMillis) {
+        this.issuer = issuer;
+        this.fetcher = fetcher;
+        this.refreshMillis = refreshMillis;
+        this.minRefreshMillis = minRefreshMillis;
+    }
+
+    /**
+     * kid 에 해당하는 키, kid 가 없는 토큰은 키가 하나뿐일 때만 사용할 수 있음
+     */
+    public PublicKey getKey(String kid) {
+        long now = System.currentTimeMillis();
+        Map<String, PublicKey> current = keys;
+        if (current == null) {
+            current = refresh(now, true);
+        } else if (now - fetchedAt >= refreshMillis) {
+            current = refresh(now, false);
+        }
+
+        PublicKey key = find(current, kid);
+        if (key == null && now - lastAttemptAt >= minRefreshMillis) {
+            key = find(refresh(now, true), kid);
+        }
+        if (key == null) {
+            throw new BusinessException(ERROR_USER_DATA, ERROR_ACCESS_DENIED, "Unknown key id " + kid + " for issuer " + issuer);
+        }
+        return key;
+    }
+
+    private static PublicKey find(Map<String, PublicKey> keys, String kid) {
+        if (kid == null) return keys.size() == 1 ? keys.values().iterator().next() : null;
+        return keys.get(kid);
+    }
+
+    private Map<String, PublicKey> refresh(long now, boolean wait) {
+        if (wait) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return keys;
+        }
+
+        try {
+            // 기다리는 동안 다른 스레드가 가져왔다면 그대로 사용함
+            if (keys != null && lastAttemptAt >= now) return keys;
+
+            lastAttemptAt = System.currentTimeMillis();
+            try {
+                keys = parse(fetcher.get());
+                fetchedAt = lastAttemptAt;
+            } catch (RuntimeException e) {
+                log.warn("Failed to fetch JWKS for issuer {}", issuer, e);
+                if (keys == null) throw new CommonException(ERROR_SYSTEM, ERROR_NETWORK, "Failed to fetch JWKS for issuer " + issuer);
+            }
+            return keys;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static Map<String, PublicKey> parse(String json) {
+        Object keyList = JsonUtils.toMap(json).get("keys");
+        if (!(keyList instanceof List)) throw new CommonException("JWKS has no keys");
+
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Object item : (List<?>) keyList) {
+            Map<String, Object> jwk = (Map<String, Object>) item;
+            if (!"RSA".equals(jwk.get("kty"))) continue;
+            if (jwk.get("use") != null && !"sig".equals(jwk.get("use"))) continue;
+
+            try {
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n")));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")));
+                PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+                parsed.put(String.valueOf(jwk.get("kid")), key);
+            } catch (Exception e) {
+                log.warn("Skipping invalid JWK {}", jwk.get("kid"), e);
+            }
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
@@ -0,0 +1,150 @@
+package com.multi.auth.token;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.multi.common.core.exception.BusinessException;
+import com.multi.common.core.exception.CommonException;
+import com.multi.process.rest.metrics.LogLinearHistogram;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_USER_DATA;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_DENIED;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_INFO_EXPIRED;
+
+/**
+ * JWT 를 원격 호출 없이 서버 안에서 검증함 (서명, iss, aud, exp, nbf)
+ * 서명 키는 발급처(iss)별 JwksKeys 에서 가져오며, RS256 / RS384 / RS512 만 허용함 (alg none 등은 거부)
+ *
+ * 검증에 실패하면 CommonException 을 던짐, 토큰 자체의 문제(ERROR_ACCESS_DENIED, ERROR_ACCESS_INFO_EXPIRED)는 스택트레이스 없는 BusinessException
+ *  - ERROR_ACCESS_DENIED : 형식 오류, 서명 불일치, 모르는 발급처/키, aud 불일치, 아직 사용할 수 없는 토큰(nbf)
+ *  - ERROR_ACCESS_INFO_EXPIRED : 만료된 토큰
+ *  - ERROR_NETWORK : 서명 키를 가져오지 못함 (토큰 문제가 아니므로 TokenVerifier 는 캐싱하지 않음)
+ */
+public class JwtVerifier {
+    private static final ObjectReader JSON_OBJECT_READER = new ObjectMapper().readerFor(new TypeReference<Map<String, Object>>() {});
+
+    private final Map<String, IssuerKeys> issuers;
+    private final long clockSkewMillis;
+    // 서명 검증에 걸린 시간 (나노초)
+    @Getter
+    private final LogLinearHistogram signatureNanos = new LogLinearHistogram();
+
+    public JwtVerifier(Map<String, IssuerKeys> issuers, long clockSkewMillis) {
+        this.issuers = issuers;
+        this.clockSkewMillis = clockSkewMillis;
+    }
+
+    public AuthToken verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) throw denied("Malformed token");
+
+        Map<String, Object> header = decodeJson(parts[0]);
+        Map<String, Object> claims = decodeJson(parts[1]);
+
+        String algorithm = getJcaAlgorithm(header.get("alg"));
+        IssuerKeys issuerKeys = issuers.get(claims.get("iss"));
+        if (issuerKeys == null) throw denied("Unknown issuer " + claims.get("iss"));
+
+        PublicKey key = issuerKeys.getKeys().getKey(getString(header, "kid"));
+        verifySignature(algorithm, key, parts);
+
+        long now = System.currentTimeMillis();
+        long expiresAt = getMillis(claims, "exp");
+        if (expiresAt <= 0) throw denied("Token has no exp");
+        if (expiresAt + clockSkewMillis <= now) {
+            throw new BusinessException(ERROR_USER_DATA, ERROR_ACCESS_INFO_EXPIRED, "Token expired");
+        }
+        long notBefore = getMillis(claims, "nbf");
+        if (notBefore > 0 && notBefore - clockSkewMillis > now) throw denied("Token is not valid yet");
+
+        List<String> audience = getAudience(claims.get("aud"));
+        if (!audience.contains(issuerKeys.getAudience())) throw denied("Token audience mismatch");
+
+        return new AuthToken(getString(claims, "iss"), getString(claims, "sub"), audience, expiresAt, claims);
+    }
+
+    private void verifySignature(String algorithm, PublicKey key, String[] parts) {
+        long startNanos = System.nanoTime();
+        boolean verified;
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            verified = signature.verify(Base64.getUrlDecoder().decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            verified = false;
+        } finally {
+            signatureNanos.record(System.nanoTime() - startNanos);
+        }
+        if (!verified) throw denied("Invalid token signature");
+    }
+
+    private static String getJcaAlgorithm(Object alg) {
+        if ("RS256".equals(alg)) return "SHA256withRSA";
+        if ("RS384".equals(alg)) return "SHA384withRSA";
+        if ("RS512".equals(alg)) return "SHA512withRSA";
+        throw denied("Unsupported token algorithm " + alg);
+    }
+
+    // JsonUtils.toMap() 은 실패를 ERROR 로그로 남기고 null 을 돌려주므로, 아무나 보낼 수 있는 토큰은 따로 읽음 (JSON 객체가 아니면 거부)
+    private static Map<String, Object> decodeJson(String part) {
+        Map<String, Object> values;
+        try {
+            values = JSON_OBJECT_READER.readValue(Base64.getUrlDecoder().decode(part));
+        } catch (IOException | IllegalArgumentException e) {
+            throw denied("Malformed token");
+        }
+        if (values == null) throw denied("Malformed token");
+        return values;
+    }
+
+    private static String getString(Map<String, Object> values, String name) {
+        Object value = values.get(name);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    // 초 단위 NumericDate 를 밀리초로, 없으면 0
+    private static long getMillis(Map<String, Object> claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number ? ((Number) value).longValue() * 1000 : 0;
+    }
+
+    private static List<String> getAudience(Object aud) {
+        if (aud instanceof String) return Collections.singletonList((String) aud);
+        if (!(aud instanceof List)) return Collections.emptyList();
+
+        List<String> audience = new ArrayList<>();
+        for (Object item : (List<?>) aud) audience.add(String.valueOf(item));
+        return audience;
+    }
+
+    private static CommonException denied(String message) {
+        return new BusinessException(ERROR_USER_DATA, ERROR_ACCESS_DENIED, message);
+    }
+
+    /**
+     * audience 는 필수, 같은 발급처가 다른 클라이언트에 발급한 토큰을 받지 않도록 항상 aud 를 검사함
+     */
+    @Getter
+    public static class IssuerKeys {
+        private final JwksKeys keys;
+        private final String audience;
+
+        public IssuerKeys(JwksKeys keys, String audience) {
+            this.keys = keys;
+            this.audience = audience;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.multi.auth.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.multi.common.core.exception.CommonException;
+import com.multi.process.rest.metrics.LogLinearHistogram;
+import com.multi.properties.Auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NETWORK;
+
+/**
+ * 검증 결과를 캐싱하는 토큰 검증기, 같은 토큰으로 들어온 요청은 서명을 다시 검증하지 않음
+ *
+ *  - 키는 토큰 원문이 아닌 SHA-256 해시 (메모리에 토큰 원문을 남기지 않음)
+ *  - 검증된 토큰은 만료 시각(exp + clockSkewMillis)까지, 검증에 실패한 토큰은 negativeCacheMillis 동안 보관함
+ *  - 서명 키를 가져오지 못한 경우(ERROR_NETWORK)는 토큰의 문제가 아니므로 캐싱하지 않음
+ *  - 보관 개수는 verifiedCacheMaxEntries 로 제한됨
+ */
+public class TokenVerifier {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtVerifier jwtVerifier;
+    private final long clockSkewMillis;
+    private final long negativeCacheMillis;
+    private final Cache<String, Result> results;
+
+    // 캐시에서 결과를 찾는데 걸린 시간 (나노초)
+    private final LogLinearHistogram cacheHitNanos = new LogLinearHistogram();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public TokenVerifier(JwtVerifier jwtVerifier, Auth auth) {
+        this.jwtVerifier = jwtVerifier;
+        this.clockSkewMillis = auth.getClockSkewMillis();
+        this.negativeCacheMillis = auth.getNegativeCacheMillis();
+        this.results = Caffeine.newBuilder()
+                .maximumSize(auth.getVerifiedCacheMaxEntries())
+                .expireAfter(new Expiry<String, Result>() {
+                    @Override
+                    public long expireAfterCreate(String key, Result result, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(result.getTtlMillis());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Result result, long currentTime, long currentDuration) {
+                        return TimeUnit.MILLISECONDS.toNanos(result.getTtlMillis());
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Result result, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 검증된 토큰 정보, 검증에 실패하면 CommonException (JwtVerifier 참고)
+     */
+    public AuthToken verify(String token) {
+        long startNanos = System.nanoTime();
+        String key = hash(token);
+        Result cached = results.getIfPresent(key);
+        if (cached != null) {
+            cacheHitNanos.record(System.nanoTime() - startNanos);
+            if (cached.token != null) {
+                hitCount.increment();
+                return cached.token;
+            }
+            negativeHitCount.increment();
+            rejectedCount.increment();
+            throw cached.failure;
+        }
+
+        missCount.increment();
+        try {
+            AuthToken verified = jwtVerifier.verify(token);
+            results.put(key, new Result(verified, null, verified.getExpiresAtMillis() + clockSkewMillis - System.currentTimeMillis()));
+            return verified;
+        } catch (CommonException e) {
+            rejectedCount.increment();
+            if (e.getReason() != ERROR_NETWORK) results.put(key, new Result(null, e, negativeCacheMillis));
+            throw e;
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    /**
+     * 캐시 적중/미스 수, 서명 검증 / 캐시 적중 시간의 백분위수 (마이크로초)
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cacheSize", results.estimatedSize());
+        result.put("hit", hitCount.sum());
+        result.put("negativeHit", negativeHitCount.sum());
+        result.put("miss", missCount.sum());
+        result.put("rejected", rejectedCount.sum());
+        result.put("signatureMicros", toMicros(jwtVerifier.getSignatureNanos()));
+        result.put("cacheHitMicros", toMicros(cacheHitNanos));
+        return result;
+    }
+
+    private static Map<String, Object> toMicros(LogLinearHistogram histogram) {
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", snapshot.getCount());
+        result.put("p50", TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(50)));
+        result.put("p99", TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(99)));
+        result.put("p999", TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(99.9)));
+        result.put("max", TimeUnit.NANOSECONDS.toMicros(histogram.getMax()));
+        return result;
+    }
+
+    private static class Result {
+        private final AuthToken token;
+        private final CommonException failure;
+        private final long ttlMillis;
+
+        private Result(AuthToken token, CommonException failure, long ttlMillis) {
+            this.token = token;
+            this.failure = failure;
+            this.ttlMillis = ttlMillis;
+        }
+
+        private long getTtlMillis() {
+            return Math.max(ttlMillis, 0);
+        }
+    }
+}
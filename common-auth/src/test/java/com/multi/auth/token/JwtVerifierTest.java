@@ -0,0 +1,236 @@
+package com.multi.auth.token;
+
+import com.multi.common.core.exception.CommonException;
+import com.multi.common.core.exception.ServiceStatusCode;
+import com.multi.common.core.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_DENIED;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_ACCESS_INFO_EXPIRED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+    private static final String ISSUER = "https://issuer.example.com";
+    private static final String AUDIENCE = "client-a";
+    private static final String KID = "key-1";
+    private static final long CLOCK_SKEW_MILLIS = 60_000;
+
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+
+    private final JwtVerifier verifier = new JwtVerifier(Collections.singletonMap(ISSUER,
+            new JwtVerifier.IssuerKeys(new JwksKeys(ISSUER, JwtVerifierTest::jwks, 60_000, 0), AUDIENCE)), CLOCK_SKEW_MILLIS);
+
+    @Test
+    void acceptsValidToken() {
+        AuthToken token = verifier.verify(sign("RS256", claims()));
+
+        assertEquals(ISSUER, token.getIssuer());
+        assertEquals("user-1", token.getSubject());
+        assertEquals(Collections.singletonList(AUDIENCE), token.getAudience());
+    }
+
+    @Test
+    void rejectsAlgNone() {
+        String header = encode(JsonUtils.toJson(header("none")));
+        String payload = encode(JsonUtils.toJson(claims()));
+
+        // 서명이 없는 토큰, 서명 부분에 아무 값이나 넣은 토큰 모두 거부되어야 함
+        assertDenied(ERROR_ACCESS_DENIED, header + "." + payload + ".");
+        assertDenied(ERROR_ACCESS_DENIED, header + "." + payload + "." + sign("RS256", claims()).split("\\.")[2]);
+    }
+
+    @Test
+    void rejectsSegmentsThatAreNotJsonObjects() {
+        String header = encode(JsonUtils.toJson(header("RS256")));
+
+        // 다른 예외(NPE 등)로 새지 않고 모두 ERROR_ACCESS_DENIED 로 거부되어야 함
+        assertDenied(ERROR_ACCESS_DENIED, encode("hello") + "." + encode("hello") + ".x");
+        assertDenied(ERROR_ACCESS_DENIED, encode("[]") + "." + encode("[]") + ".x");
+        assertDenied(ERROR_ACCESS_DENIED, encode("null") + "." + encode("null") + ".x");
+        assertDenied(ERROR_ACCESS_DENIED, header + "." + encode("[]") + ".x");
+        assertDenied(ERROR_ACCESS_DENIED, header + "." + encode("\"text\"") + ".x");
+        assertDenied(ERROR_ACCESS_DENIED, "!!.??.x");
+        assertDenied(ERROR_ACCESS_DENIED, "a.b");
+    }
+
+    @Test
+    void rejectsAlgorithmOtherThanRsa() {
+        // 공개키를 HMAC 키로 써서 서명한 토큰 (알고리즘 혼동 공격)
+        String token = sign("HS256", claims());
+
+        assertDenied(ERROR_ACCESS_DENIED, token);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String[] parts = sign("RS256", claims()).split("\\.");
+        Map<String, Object> claims = claims();
+        claims.put("sub", "user-2");
+
+        assertDenied(ERROR_ACCESS_DENIED, parts[0] + "." + encode(JsonUtils.toJson(claims)) + "." + parts[2]);
+    }
+
+    @Test
+    void acceptsExpiredTokenWithinClockSkew() {
+        Map<String, Object> claims = claims();
+        claims.put("exp", seconds(System.currentTimeMillis() - CLOCK_SKEW_MILLIS / 2));
+
+        verifier.verify(sign("RS256", claims));
+    }
+
+    @Test
+    void rejectsExpiredTokenBeyondClockSkew() {
+        Map<String, Object> claims = claims();
+        claims.put("exp", seconds(System.currentTimeMillis() - CLOCK_SKEW_MILLIS * 2));
+
+        assertDenied(ERROR_ACCESS_INFO_EXPIRED, sign("RS256", claims));
+    }
+
+    @Test
+    void rejectsTokenWithoutExp() {
+        Map<String, Object> claims = claims();
+        claims.remove("exp");
+
+        assertDenied(ERROR_ACCESS_DENIED, sign("RS256", claims));
+    }
+
+    @Test
+    void acceptsNotYetValidTokenWithinClockSkew() {
+        Map<String, Object> claims = claims();
+        claims.put("nbf", seconds(System.currentTimeMillis() + CLOCK_SKEW_MILLIS / 2));
+
+        verifier.verify(sign("RS256", claims));
+    }
+
+    @Test
+    void rejectsNotYetValidTokenBeyondClockSkew() {
+        Map<String, Object> claims = claims();
+        claims.put("nbf", seconds(System.currentTimeMillis() + CLOCK_SKEW_MILLIS * 2));
+
+        assertDenied(ERROR_ACCESS_DENIED, sign("RS256", claims));
+    }
+
+    @Test
+    void acceptsAudienceList() {
+        Map<String, Object> claims = claims();
+        claims.put("aud", Arrays.asList("client-b", AUDIENCE));
+
+        assertEquals(Arrays.asList("client-b", AUDIENCE), verifier.verify(sign("RS256", claims)).getAudience());
+    }
+
+    @Test
+    void rejectsAudienceMismatch() {
+        Map<String, Object> otherClient = claims();
+        otherClient.put("aud", "client-b");
+        Map<String, Object> noAudience = claims();
+        noAudience.remove("aud");
+
+        // 같은 발급처, 같은 키로 서명됐더라도 다른 클라이언트용 토큰이나 aud 가 없는 토큰은 거부되어야 함
+        assertDenied(ERROR_ACCESS_DENIED, sign("RS256", otherClient));
+        assertDenied(ERROR_ACCESS_DENIED, sign("RS256", noAudience));
+    }
+
+    @Test
+    void rejectsUnknownIssuer() {
+        Map<String, Object> claims = claims();
+        claims.put("iss", "https://other.example.com");
+
+        assertDenied(ERROR_ACCESS_DENIED, sign("RS256", claims));
+    }
+
+    private void assertDenied(ServiceStatusCode reason, String token) {
+        CommonException e = assertThrows(CommonException.class, () -> verifier.verify(token));
+        assertEquals(reason, e.getReason());
+    }
+
+    // 1분 뒤에 만료되는 정상 토큰의 클레임
+    private static Map<String, Object> claims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", ISSUER);
+        claims.put("sub", "user-1");
+        claims.put("aud", AUDIENCE);
+        claims.put("exp", seconds(System.currentTimeMillis() + 60_000));
+        return claims;
+    }
+
+    private static Map<String, Object> header(String alg) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", alg);
+        header.put("kid", KID);
+        return header;
+    }
+
+    private static String sign(String alg, Map<String, Object> claims) {
+        String signingInput = encode(JsonUtils.toJson(header(alg))) + "." + encode(JsonUtils.toJson(claims));
+        byte[] data = signingInput.getBytes(StandardCharsets.US_ASCII);
+        try {
+            byte[] signature;
+            if ("HS256".equals(alg)) {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(KEY_PAIR.getPublic().getEncoded(), "HmacSHA256"));
+                signature = mac.doFinal(data);
+            } else {
+                Signature rsa = Signature.getInstance("SHA256withRSA");
+                rsa.initSign(KEY_PAIR.getPrivate());
+                rsa.update(data);
+                signature = rsa.sign();
+            }
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String jwks() {
+        RSAPublicKey publicKey = (RSAPublicKey) KEY_PAIR.getPublic();
+        Map<String, Object> jwk = new HashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("kid", KID);
+        jwk.put("n", encode(publicKey.getModulus()));
+        jwk.put("e", encode(publicKey.getPublicExponent()));
+        return JsonUtils.toJson(Collections.singletonMap("keys", Collections.singletonList(jwk)));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // JWK 의 n, e 는 부호 없는 빅엔디언 바이트
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static long seconds(long millis) {
+        return millis / 1000;
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
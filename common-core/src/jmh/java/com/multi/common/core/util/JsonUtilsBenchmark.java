@@ -0,0 +1,131 @@
+package com.multi.common.core.util;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils 읽기/쓰기, 기존 방식(호출마다 mapper.configure() 후 ObjectMapper 로 직접 읽고 쓰기, treeAsTokens)과 현재 방식(캐싱된 ObjectReader/ObjectWriter) 비교
+ * legacy* 메소드가 기존 JsonUtils 의 코드 경로를 그대로 재현함, 공유 mapper 를 호출마다 configure() 하던 비용이 드러나도록 4 스레드로 측정함
+ * ./gradlew :common-core:jmh (처리량과 함께 gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량을 확인함)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+    private final ObjectMapper legacyMapper = new ObjectMapper();
+
+    private UserVo user;
+    private String userJson;
+    private String listJson;
+    private String dataJson;
+
+    @Setup
+    public void setup() {
+        user = new UserVo();
+        user.setUserIdx(1);
+        user.setEmail("user1@example.com");
+        user.setNickname("user1");
+        user.setPoint(1000);
+        user.setActive(true);
+
+        userJson = JsonUtils.toJson(user);
+        StringBuilder list = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) list.append(i == 0 ? "" : ",").append(userJson);
+        listJson = list.append("]").toString();
+        dataJson = "{\"code\":200,\"data\":" + userJson + "}";
+    }
+
+    @Benchmark
+    public String legacyToJson() throws IOException {
+        legacyMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, true);
+        return legacyMapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtils.toJson(user);
+    }
+
+    @Benchmark
+    public UserVo legacyToObject() throws IOException {
+        legacyMapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
+        return legacyMapper.readValue(userJson, UserVo.class);
+    }
+
+    @Benchmark
+    public UserVo toObject() {
+        return JsonUtils.toObject(userJson, UserVo.class);
+    }
+
+    @Benchmark
+    public List<UserVo> legacyToObjectTypeReference() throws IOException {
+        legacyMapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
+        return legacyMapper.readValue(listJson, new TypeReference<List<UserVo>>() {});
+    }
+
+    @Benchmark
+    public List<UserVo> toObjectTypeReference() {
+        return JsonUtils.toObject(listJson, new TypeReference<List<UserVo>>() {});
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyToMap() throws IOException {
+        return legacyMapper.readValue(userJson, new TypeReference<Map<String, Object>>() {});
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return JsonUtils.toMap(userJson);
+    }
+
+    @Benchmark
+    public UserVo legacyToDataObject() throws IOException {
+        return legacyMapper.readValue(legacyMapper.treeAsTokens(legacyMapper.readTree(dataJson).path("data")), UserVo.class);
+    }
+
+    @Benchmark
+    public UserVo toDataObject() {
+        return JsonUtils.toDataObject(dataJson, "data", UserVo.class);
+    }
+
+    public static class UserVo {
+        private int userIdx;
+        private String email;
+        private String nickname;
+        private long point;
+        private boolean active;
+
+        public int getUserIdx() { return userIdx; }
+        public void setUserIdx(int userIdx) { this.userIdx = userIdx; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        public long getPoint() { return point; }
+        public void setPoint(long point) { this.point = point; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+    }
+}
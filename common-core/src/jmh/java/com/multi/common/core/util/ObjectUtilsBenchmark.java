@@ -0,0 +1,108 @@
+package com.multi.common.core.util;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinkedHashMap -> VO 변환, 기존 방식(ObjectMapper.convertValue)과 ObjectUtils.toType() / toTypeList() (MapBinder) 비교
+ * ./gradlew :common-core:jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectUtilsBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JavaType listType = TypeFactory.defaultInstance().constructCollectionType(ArrayList.class, UserVo.class);
+
+    private Map<String, Object> map;
+    private List<Object> list;
+
+    @Setup
+    public void setup() {
+        map = userMap(1);
+        list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) list.add(userMap(i));
+    }
+
+    @Benchmark
+    public UserVo convertValue() {
+        return mapper.convertValue(map, UserVo.class);
+    }
+
+    @Benchmark
+    public UserVo toType() {
+        return ObjectUtils.toType(map, UserVo.class);
+    }
+
+    @Benchmark
+    public List<UserVo> convertValueList() {
+        return mapper.convertValue(list, listType);
+    }
+
+    @Benchmark
+    public List<UserVo> toTypeList() {
+        return ObjectUtils.toTypeList(list, UserVo.class);
+    }
+
+    // JSON 을 읽은 Map 과 같은 값 타입 (작은 정수는 Integer)
+    private static Map<String, Object> userMap(int userIdx) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userIdx", userIdx);
+        map.put("email", "user" + userIdx + "@example.com");
+        map.put("nickname", "user" + userIdx);
+        map.put("point", 1000 + userIdx);
+        map.put("score", 4.5);
+        map.put("active", true);
+        map.put("createDate", "2022-10-05 12:00:00");
+        map.put("loginCount", 3);
+        return map;
+    }
+
+    public static class UserVo {
+        private int userIdx;
+        private String email;
+        private String nickname;
+        private long point;
+        private double score;
+        private boolean active;
+        private String createDate;
+        private Integer loginCount;
+
+        public int getUserIdx() { return userIdx; }
+        public void setUserIdx(int userIdx) { this.userIdx = userIdx; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        public long getPoint() { return point; }
+        public void setPoint(long point) { this.point = point; }
+        public double getScore() { return score; }
+        public void setScore(double score) { this.score = score; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+        public String getCreateDate() { return createDate; }
+        public void setCreateDate(String createDate) { this.createDate = createDate; }
+        public Integer getLoginCount() { return loginCount; }
+        public void setLoginCount(Integer loginCount) { this.loginCount = loginCount; }
+    }
+}
@@ -0,0 +1,30 @@
+package com.multi.common.core.exception;
+
+/**
+ * 스택트레이스를 만들지 않는 CommonException
+ *
+ * 파라미터 누락(ERROR_NO_PARAM), 값 검증 실패(ERROR_PARAM_VALIDITY), 토큰 거부처럼 예상된 비즈니스 에러는
+ * 응답 코드와 메세지만 필요하고 스택트레이스는 쓰이지 않는데, 예외를 만드는 비용의 대부분은 스택트레이스를 채우는 데 들어감
+ * 요청이 몰릴 때 자주 던져지는 이런 에러는 해당 예외를 사용하고, 원인을 추적해야 하는 에러는 CommonException 을 사용해야 함
+ *
+ * Throwable 을 감싸는 경우에도 감싸진 예외(getCause())의 스택트레이스는 그대로 남아있음
+ */
+public class BusinessException extends CommonException {
+
+    public BusinessException(ErrorType type, ServiceStatusCode reason, String message) {
+        super(type, reason, message);
+    }
+
+    public BusinessException(Throwable throwable) {
+        super(throwable);
+    }
+
+    public BusinessException(ErrorType type, ServiceStatusCode reason, Throwable throwable) {
+        super(type, reason, throwable);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
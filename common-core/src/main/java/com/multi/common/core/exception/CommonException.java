@@ -6,7 +6,6 @@ import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.NestedRuntimeException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
@@ -19,6 +18,10 @@ import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
 import static com.multi.common.core.exception.ServiceStatusCode.*;
 
 public class CommonException extends NestedRuntimeException {
+    // 에러 메세지의 "HT_SY_1000" 같은 에러 코드 부분, group(1) 은 ErrorType 의 name, group(2) 는 ServiceStatusCode 의 error
+    private static final Pattern ERROR_CODE_PATTERN = Pattern.compile("(HT_[A-Z_]+?)([0-9]+)");
+    // 이미 만들어진 CommonException 메세지에서 실제 메세지 부분
+    private static final Pattern RESULT_MESSAGE_PATTERN = Pattern.compile("^\\[.+?: (.+)");
 
     @Getter
     private ErrorType type = ERROR_SYSTEM;
@@ -84,8 +87,10 @@ public class CommonException extends NestedRuntimeException {
     }
     // 에러코드 set, ResultInfo를 기반으로 생성함
     private void setErrorCode(ResultInfo resultInfo) {
-        if (type != null) this.type = getTypeByMessage(resultInfo.getMessage());
-        if (reason != null) this.reason = getReasonByMessage(resultInfo.getMessage());
+        Matcher matcher = ERROR_CODE_PATTERN.matcher(resultInfo.getMessage());
+        boolean found = matcher.find();
+        this.type = found ? getTypeByName(matcher.group(1)) : ERROR_SYSTEM;
+        this.reason = found ? getReasonByError(matcher.group(2)) : ERROR_SYSTEM_EXCEPTION;
     }
     // 에러코드 set, Throwable의 정보를 받아들여 에러타입 및 스테이터스의 set을 위한 용도
     private void setErrorCode(Throwable throwable) {
@@ -118,48 +123,55 @@ public class CommonException extends NestedRuntimeException {
                 setErrorCode(ERROR_SYSTEM, ERROR_NULL);
             }
         } else if (throwable instanceof CommonException) {
-            ErrorType type = getTypeByMessage(throwable.getMessage());
-            ServiceStatusCode reason = getReasonByMessage(throwable.getMessage());
-
-            setErrorCode(type, reason);
+            // 메세지를 다시 해석하지 않고 감싸진 예외의 에러코드를 그대로 사용함
+            setErrorCode(((CommonException) throwable).getType(), ((CommonException) throwable).getReason());
         }
     }
 
     // 메세지 set
     private void setMessage(String message) {
-        this.message = "[" + this.type.getName() + this.reason.getError() + " " + this.reason.getReason() + ": ";
+        StringBuilder messageBuilder = appendErrorCode(new StringBuilder(64).append('['));
 
         Throwable cause = getCause();
-        if (cause != null) {
+        if (cause instanceof NullPointerException) {
             // NullPointerException일 경우 스택트레이스 중 com.hanteo 패키지로 시작되는 스택트레이스 중 첫번째 건을 출력함
             // com.hanteo로 시작하는 스택트레이스 중 첫번째 건이 보편적으로 에러가 나는 이유이기 때문이며 디버깅을 용이하게 하기 위함
-            if (cause instanceof NullPointerException) {
+            if (message == null) {
                 for (StackTraceElement element : cause.getStackTrace()) {
-                    if (message == null && element.getClassName().startsWith("com.podong")) {
+                    if (element.getClassName().startsWith("com.podong")) {
                         message = "java.lang.NullPointerException occured in " + element;
+                        break;
                     }
                 }
-            } else {
-                // 파라미터로 받은 추가하고자 하는 메세지에 Exception의 Cause들을 기입함
-                StringBuilder messageBuilder = new StringBuilder();
-                messageBuilder.append(message).append(" (Caused by: ").append(cause.getClass().getCanonicalName());
-                do {
-                    messageBuilder.append(", ").append(cause.getClass().getCanonicalName());
-                } while ((cause = cause.getCause()) != null);
-                message = messageBuilder.toString();
-                message += ")";
             }
+            messageBuilder.append(message);
+        } else if (cause != null) {
+            // 파라미터로 받은 추가하고자 하는 메세지에 Exception의 Cause들을 기입함
+            messageBuilder.append(message).append(" (Caused by: ").append(cause.getClass().getCanonicalName());
+            do {
+                messageBuilder.append(", ").append(cause.getClass().getCanonicalName());
+            } while ((cause = cause.getCause()) != null);
+            messageBuilder.append(')');
+        } else {
+            messageBuilder.append(message);
         }
 
-        this.message +=  message;
+        this.message = messageBuilder.toString();
     }
     // 메세지 set, Rest 통신으로 받아온 ResultInfo에 대해 메세지를 설정함
     private void setMessage(ResultInfo resultInfo) {
-        this.message =  this.type.getName() + this.reason.getError() + " " + this.reason.getReason() + ": ";
+        StringBuilder messageBuilder = appendErrorCode(new StringBuilder(64));
 
         // ResultInfo에서 이미 만들어진 CommonException 메세지를 받아와 실제 메세지 부분만 추출함
-        Matcher matcher = Pattern.compile("^\\[.+?: (.+)").matcher(resultInfo.getMessage());
-        if (matcher.find()) this.message += matcher.group(1);
+        Matcher matcher = RESULT_MESSAGE_PATTERN.matcher(resultInfo.getMessage());
+        if (matcher.find()) messageBuilder.append(matcher.group(1));
+
+        this.message = messageBuilder.toString();
+    }
+    // "HT_SY_1000 [ERROR_SYSTEM_EXCEPTION]: " 형태의 에러 코드 부분
+    private StringBuilder appendErrorCode(StringBuilder messageBuilder) {
+        return messageBuilder.append(this.type.getName()).append(this.reason.getError())
+                .append(' ').append(this.reason.getReason()).append(": ");
     }
     // 다른 예외를 통해 메세지 set
     private void setMessage(Throwable throwable) {
@@ -171,26 +183,14 @@ public class CommonException extends NestedRuntimeException {
         }
     }
 
-    // 에러 메세지에서 CommonException의 에러 코드를 찾아주는 메서드
-    private static ErrorType getTypeByMessage(String message) {
-        Matcher matcher = Pattern.compile("(HT_[A-Z_]+)[0-9]+").matcher(message);
-        if (matcher.find()) {
-            String typeName = matcher.group(1);
-            for (ErrorType type : ErrorType.values())
-                if (ObjectUtils.nullSafeEquals(type.getName(), typeName))
-                    return type;
-        }
-        return ERROR_SYSTEM;
-    }
-    private static ServiceStatusCode getReasonByMessage(String message) {
-        Matcher matcher = Pattern.compile("HT_[A-Z_]+([0-9]+)").matcher(message);
-        if (matcher.find()) {
-            int reasonError = Integer.parseInt(matcher.group(1));
-            for (ServiceStatusCode reason : ServiceStatusCode.values())
-                if (ObjectUtils.nullSafeEquals(reason.getError(), reasonError))
-                    return reason;
-        }
-        return ERROR_SYSTEM_EXCEPTION;
+    // 에러 메세지에서 찾은 에러 코드를 enum 으로 바꿔주는 메서드, 없는 코드라면 시스템 에러로 처리함
+    private static ErrorType getTypeByName(String typeName) {
+        ErrorType type = ErrorType.findByName(typeName);
+        return type == null ? ERROR_SYSTEM : type;
+    }
+    private static ServiceStatusCode getReasonByError(String reasonError) {
+        ServiceStatusCode reason = reasonError.length() > 9 ? null : ServiceStatusCode.findByError(Integer.parseInt(reasonError));
+        return reason == null ? ERROR_SYSTEM_EXCEPTION : reason;
     }
 
 }
@@ -1,5 +1,8 @@
 package com.multi.common.core.exception;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum ErrorType {
 
     ERROR(0, "HT_ER_"),
@@ -9,6 +12,11 @@ public enum ErrorType {
 
     ERROR_USER_DATA(3, "HT_US_");
 
+    // name("HT_SY_" 등)으로 ErrorType 을 찾기 위한 테이블, 에러 메세지를 해석할 때마다 values() 를 순회하지 않도록 미리 만들어둠
+    private static final Map<String, ErrorType> BY_NAME = new HashMap<>();
+    static {
+        for (ErrorType type : values()) BY_NAME.put(type.name, type);
+    }
 
     private int type;
     private String name;
@@ -26,4 +34,9 @@ public enum ErrorType {
         return this.name;
     }
 
+    // 해당 name 의 ErrorType, 없으면 null
+    public static ErrorType findByName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+
 }
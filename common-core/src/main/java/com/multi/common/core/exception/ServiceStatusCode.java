@@ -47,6 +47,15 @@ public enum ServiceStatusCode {
     ERROR_SYSTEM_EXCEPTION(1000, "[ERROR_SYSTEM_EXCEPTION]")
     ;
 
+    // error 코드를 인덱스로 ServiceStatusCode 를 찾기 위한 테이블, 코드가 1000 이하이므로 배열 하나로 충분함
+    private static final ServiceStatusCode[] BY_ERROR;
+    static {
+        int maxError = 0;
+        for (ServiceStatusCode code : values()) maxError = Math.max(maxError, code.error);
+
+        BY_ERROR = new ServiceStatusCode[maxError + 1];
+        for (ServiceStatusCode code : values()) BY_ERROR[code.error] = code;
+    }
 
 
     private int error;
@@ -65,4 +74,9 @@ public enum ServiceStatusCode {
         return reason;
     }
 
+    // 해당 error 코드의 ServiceStatusCode, 없으면 null
+    public static ServiceStatusCode findByError(int error) {
+        return error < 0 || error >= BY_ERROR.length ? null : BY_ERROR[error];
+    }
+
 }
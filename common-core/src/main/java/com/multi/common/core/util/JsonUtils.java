@@ -1,40 +1,74 @@
 package com.multi.common.core.util;
 
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.multi.common.core.exception.CommonException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.multi.common.core.util.ObjectUtils.getJavaType;
 
 
 /**
  * Created by kevin on 2017-12-26
+ *
+ * ObjectMapper 는 클래스 로딩 시 한번만 설정하고 이후엔 변경하지 않음 (호출마다 configure() 하던 방식은 멀티쓰레드 환경에서 안전하지 않음)
+ * 실제 읽기/쓰기는 불변 객체인 ObjectReader/ObjectWriter 를 사용하며, ObjectReader 는 대상 타입별로 캐싱해서 재사용함
  */
 @Slf4j
 public class JsonUtils {
-    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
 
-    public static String toJson(Object object) {
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, true);
+    private static final ObjectWriter writer = mapper.writer()
+            .with(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    // 대상 타입(Class, Type)별 ObjectReader 캐시, 코드에 등장하는 타입 수만큼만 쌓임
+    private static final ConcurrentMap<Object, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final ObjectReader mapReader = mapper.readerFor(new TypeReference<Map<String, Object>>() {});
+
+    private static ObjectReader getReader(Class<?> valueType) {
+        ObjectReader reader = readers.get(valueType);
+        return reader != null ? reader : readers.computeIfAbsent(valueType, key -> mapper.readerFor(valueType));
+    }
 
+    private static ObjectReader getReader(TypeReference<?> valueTypeRef) {
+        // TypeReference 는 보통 호출마다 익명 클래스로 새로 생성되므로, 인스턴스가 아닌 제네릭 타입 정보를 키로 사용함
+        return getReader(valueTypeRef.getType());
+    }
+
+    private static ObjectReader getReader(Type type) {
+        ObjectReader reader = readers.get(type);
+        return reader != null ? reader : readers.computeIfAbsent(type, key -> mapper.readerFor(getJavaType(type)));
+    }
+
+    public static String toJson(Object object) {
         String json = "";
         try {
-            json = mapper.writeValueAsString(object);
+            json = writer.writeValueAsString(object);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -43,11 +77,9 @@ public class JsonUtils {
     }
 
     public static <T> T toObject(String json, Class<T> valueType) {
-        mapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
-
         T object = null;
         try {
-            object = mapper.readValue(json, valueType);
+            object = getReader(valueType).readValue(json);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -57,11 +89,9 @@ public class JsonUtils {
     }
 
     public static <T> T toObject(String json, TypeReference<T> valueTypeRef) {
-        mapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
-
         T object = null;
         try {
-            object = mapper.readValue(json, valueTypeRef);
+            object = getReader(valueTypeRef).readValue(json);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -82,11 +112,9 @@ public class JsonUtils {
      * @return 제네릭 타입의 VO까지 캐치하여 역직렬화된 객체
      */
     public static <T> T toObject(String json, Type type) {
-        mapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
-
         T object = null;
         try {
-            object = mapper.readValue(json, getJavaType(type));
+            object = getReader(type).readValue(json);
         } catch (IOException e) {
             log.error(e.getMessage(), e);
         }
@@ -96,7 +124,7 @@ public class JsonUtils {
 
     public static Map<String, Object> toMap(String json) {
         try {
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return mapReader.readValue(json);
         } catch (IOException e) {
             log.error(e.getMessage(), e);
         }
@@ -117,26 +145,38 @@ public class JsonUtils {
         return null;
     }
 
-    private static JsonNode getDataNode(String json, String dataName) {
-        JsonNode rootNode = getRootNode(json);
-        if (rootNode == null) return null;
+    /**
+     * 루트 객체에서 dataName 필드의 값 위치까지 파서를 이동시킴
+     * 트리를 만들지 않고 앞쪽의 다른 필드는 건너뛰므로, 큰 JSON 에서 필드 하나만 필요할 때 파싱 비용과 가비지가 적음
+     *
+     * @return 해당 필드의 값 토큰에 위치한 파서, JSON 이 비어있거나 해당 필드가 없으면 null (반환된 파서는 호출하는 쪽에서 닫아야 함)
+     */
+    private static JsonParser getDataParser(JsonParser parser, String dataName) throws IOException {
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if (dataName.equals(fieldName)) return parser;
+
+                parser.skipChildren();
+            }
+        }
 
-        return rootNode.path(dataName);
+        parser.close();
+        return null;
     }
 
-    private static <T> T getValueFromNode(JsonNode dataNode, Class<T> valueType) {
-        try {
-            return mapper.readValue(mapper.treeAsTokens(dataNode), valueType);
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-        }
+    private static JsonParser getDataParser(String json, String dataName) throws IOException {
+        if (StringUtils.isEmpty(json)) return null;
 
-        return null;
+        return getDataParser(mapper.getFactory().createParser(json), dataName);
     }
 
-    private static <T> T getValueFromNode(JsonNode dataNode, TypeReference<T> valueTypeRef) {
-        try {
-            return mapper.readValue(mapper.treeAsTokens(dataNode), valueTypeRef);
+    private static <T> T readDataObject(String json, String dataName, ObjectReader reader) {
+        try (JsonParser parser = getDataParser(json, dataName)) {
+            if (parser == null) return null;
+
+            return reader.readValue(parser);
         } catch (IOException e) {
             log.error(e.getMessage(), e);
         }
@@ -144,10 +184,14 @@ public class JsonUtils {
         return null;
     }
 
-    private static <T> T getValueFromNode(JsonNode dataNode, Type type) {
-        try {
-            return mapper.readValue(mapper.treeAsTokens(dataNode), getJavaType(type));
-        } catch (IOException e) {
+    private static <T> ArrayList<T> readDataList(String json, String dataName, ObjectReader reader) {
+        try (JsonParser parser = getDataParser(json, dataName)) {
+            if (parser == null || parser.currentToken() == JsonToken.VALUE_NULL) return null;
+
+            ArrayList<T> convertList = new ArrayList<>();
+            new DataIterator<T>(parser, reader).forEachRemaining(convertList::add);
+            return convertList;
+        } catch (IOException | CommonException e) {
             log.error(e.getMessage(), e);
         }
 
@@ -155,43 +199,28 @@ public class JsonUtils {
     }
 
     public static <T> T toDataObject(String json, String dataName, Class<T> valueType) {
-        JsonNode dataNode = getDataNode(json, dataName);
-        if (dataNode == null) return null;
-
-        return getValueFromNode(dataNode, valueType);
+        return readDataObject(json, dataName, getReader(valueType));
     }
 
     public static <T> T toDataObject(String json, String dataName, TypeReference<T> valueTypeRef) {
-        JsonNode dataNode = getDataNode(json, dataName);
-        if (dataNode == null) return null;
-
-        return getValueFromNode(dataNode, valueTypeRef);
+        return readDataObject(json, dataName, getReader(valueTypeRef));
     }
 
     public static <T> T toDataObject(String json, String dataName, Type type) {
-        JsonNode dataNode = getDataNode(json, dataName);
-        if (dataNode == null) return null;
-
-        return getValueFromNode(dataNode, type);
+        return readDataObject(json, dataName, getReader(type));
     }
 
+    /**
+     * dataName 필드가 배열이라면 첫번째 요소를, 배열이 아니라면 필드 값 자체를 역직렬화함
+     */
     public static <T> T toListToMap(String json, String dataName, TypeReference<T> valueTypeRef) {
-        JsonNode dataNode = getDataNode(json, dataName);
-        if (dataNode == null) return null;
+        try (JsonParser parser = getDataParser(json, dataName)) {
+            if (parser == null) return null;
 
-        JsonNode oneNode;
-        if (!dataNode.isArray()) {
-            oneNode = dataNode;
-        } else {
-            ArrayNode arrayNode = (ArrayNode) dataNode;
+            // 배열일 경우 첫번째 요소까지만 읽음
+            if (parser.currentToken() == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.END_ARRAY) return null;
 
-            oneNode = arrayNode.get(0);
-        }
-
-        String filterNode = oneNode.toString();
-
-        try {
-            return mapper.readValue(filterNode, valueTypeRef);
+            return getReader(valueTypeRef).readValue(parser);
         } catch (IOException e) {
             log.error(e.getMessage(), e);
         }
@@ -200,50 +229,122 @@ public class JsonUtils {
     }
 
     public static <T> ArrayList<T> toListToListMap(String json, String dataName, TypeReference<T> valueTypeRef) {
-        JsonNode rootNode = getRootNode(json);
-        if (rootNode == null) return null;
-
-        try {
-            if (rootNode.get(dataName).isNull()) return null;
+        return readDataList(json, dataName, getReader(valueTypeRef));
+    }
 
-            ArrayNode arrayNode = (ArrayNode) rootNode.path(dataName);
+    public static <T> List<T> toVoList(String json, String fieldName, Class<T> valueType) {
+        return readDataList(json, fieldName, getReader(valueType));
+    }
 
-            ArrayList<T> convertList = new ArrayList<>();
-            for (JsonNode jsonNode : arrayNode) {
-                convertList.add(mapper.readValue(jsonNode.toString(), valueTypeRef));
-            }
+    /**
+     * toVoList 와 같지만 리스트를 만들지 않고 요소를 하나씩 역직렬화하는 Iterator 를 반환함
+     * 요소를 끝까지 읽으면 파서가 닫히며, 중간에 그만둘 경우 close() 를 호출해야 함
+     *
+     * @return 해당 필드가 없거나 null 이면 빈 Iterator
+     */
+    public static <T> DataIterator<T> toVoIterator(String json, String fieldName, Class<T> valueType) {
+        try {
+            return new DataIterator<>(getDataParser(json, fieldName), getReader(valueType));
+        } catch (IOException e) {
+            throw new CommonException(e);
+        }
+    }
 
-            return convertList;
+    /**
+     * 업스트림 응답처럼 큰 JSON 을 문자열로 만들지 않고 InputStream 에서 바로 요소를 하나씩 역직렬화하는 Iterator
+     * 요소를 끝까지 읽으면 파서가 닫히며(InputStream 포함), 중간에 그만둘 경우 close() 를 호출해야 함
+     */
+    public static <T> DataIterator<T> toVoIterator(InputStream json, String fieldName, Class<T> valueType) {
+        try {
+            return new DataIterator<>(getDataParser(mapper.getFactory().createParser(json), fieldName), getReader(valueType));
         } catch (IOException e) {
-            log.error(e.getMessage(), e);
+            throw new CommonException(e);
         }
+    }
 
-        return null;
+    /**
+     * toVoIterator 의 Stream 형태, try-with-resources 로 사용하면 중간에 그만두더라도 파서가 닫힘
+     */
+    public static <T> Stream<T> toVoStream(String json, String fieldName, Class<T> valueType) {
+        return toVoIterator(json, fieldName, valueType).stream();
     }
 
-    public static <T> List<T> toVoList(String json, String fieldName, Class<T> valueType) {
-        JsonNode rootNode = getRootNode(json);
-        if (rootNode == null) return null;
+    public static <T> Stream<T> toVoStream(InputStream json, String fieldName, Class<T> valueType) {
+        return toVoIterator(json, fieldName, valueType).stream();
+    }
 
-        try {
-            JsonNode targetNode = rootNode.get(fieldName);
-
-            List<T> convertList = new ArrayList<>();
-            if (!targetNode.isArray()) {
-                convertList.add(mapper.readValue(mapper.treeAsTokens(targetNode), valueType));
-            } else {
-                ArrayNode arrayNode = (ArrayNode) targetNode;
-                for (JsonNode jsonNode : arrayNode) {
-                    convertList.add(mapper.readValue(mapper.treeAsTokens(jsonNode), valueType));
+    /**
+     * 필드 값 위치에 있는 파서에서 요소를 하나씩 역직렬화하는 Iterator
+     * 필드 값이 배열이면 각 요소를, 배열이 아니라면 값 하나를, null 이면 아무것도 반환하지 않음
+     */
+    public static class DataIterator<T> implements Iterator<T>, Closeable {
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final boolean isArray;
+        private boolean hasNext;
+
+        private DataIterator(JsonParser parser, ObjectReader reader) {
+            this.parser = parser;
+            this.reader = reader;
+            this.isArray = parser != null && parser.currentToken() == JsonToken.START_ARRAY;
+            this.hasNext = parser != null && parser.currentToken() != JsonToken.VALUE_NULL;
+
+            if (isArray) advance();
+            if (!hasNext) close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext) throw new NoSuchElementException();
+
+            try {
+                T value = reader.readValue(parser);
+                if (isArray) {
+                    advance();
+                } else {
+                    hasNext = false;
                 }
+                if (!hasNext) close();
+
+                return value;
+            } catch (IOException e) {
+                close();
+                throw new CommonException(e);
             }
+        }
 
-            return convertList;
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
+        // 다음 요소의 시작 토큰으로 이동함
+        private void advance() {
+            try {
+                JsonToken token = parser.nextToken();
+                hasNext = token != null && token != JsonToken.END_ARRAY;
+            } catch (IOException e) {
+                close();
+                throw new CommonException(e);
+            }
         }
 
-        return null;
+        public Stream<T> stream() {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                    .onClose(this::close);
+        }
+
+        @Override
+        public void close() {
+            hasNext = false;
+            if (parser == null) return;
+
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
     }
 
     /**
@@ -266,11 +367,10 @@ public class JsonUtils {
                     throw new IllegalArgumentException("content length of json array is too many! (typeList.length() != <json array length>)");
                 }
 
-                JsonParser tokens = mapper.treeAsTokens(element);
-                JavaType type = getJavaType(iterator.next());
+                ObjectReader reader = getReader(iterator.next());
 
                 try {
-                    result.add(mapper.readValue(tokens, type));
+                    result.add(reader.readValue(element));
                 } catch (IOException e) {
                     throw new CommonException(e);
                 }
@@ -0,0 +1,245 @@
+package com.multi.common.core.util;
+
+import java.beans.ConstructorProperties;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Map(JSON 을 읽은 LinkedHashMap 등)을 VO 로 옮기는 변환기, ObjectUtils.toType() / toTypeList() 에서 사용함
+ *
+ * 클래스당 한번만 만들어서 캐싱하며, 기본 생성자와 setter 를 직접 호출하는 람다(LambdaMetafactory)로 값을 넣으므로
+ * ObjectMapper.convertValue() 처럼 Map 을 토큰 버퍼로 직렬화했다가 다시 읽지 않음
+ *
+ * Jackson 으로 변환한 결과와 같은 경우에만 직접 넣고, 아니라면 bind() 가 null 을 돌려주므로 호출하는 쪽에서 Jackson 으로 변환해야 함
+ *  - Jackson 어노테이션이 있거나, public 기본 생성자가 없는 클래스
+ *  - setter 가 없거나 여러개인 키, 값을 그대로 넣을 수 없는 프로퍼티 (문자열 -> enum, 중첩된 Map -> VO, 컬렉션 등)
+ */
+final class MapBinder {
+    private static final ConcurrentMap<Class<?>, MapBinder> CACHE = new ConcurrentHashMap<>();
+    // Jackson 으로 변환해야 하는 클래스
+    private static final MapBinder UNSUPPORTED = new MapBinder(null, Collections.emptyMap());
+    // 값을 그대로 넣을 수 있는 프로퍼티 타입 (불변 타입)
+    private static final List<Class<?>> SIMPLE_TYPES = Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class);
+    private static final Object NOT_CONVERTIBLE = new Object();
+
+    private final Supplier<Object> constructor;
+    private final Map<String, Property> properties;
+
+    private MapBinder(Supplier<Object> constructor, Map<String, Property> properties) {
+        this.constructor = constructor;
+        this.properties = properties;
+    }
+
+    static MapBinder of(Class<?> type) {
+        MapBinder binder = CACHE.get(type);
+        return binder != null ? binder : CACHE.computeIfAbsent(type, MapBinder::create);
+    }
+
+    boolean isSupported() {
+        return constructor != null;
+    }
+
+    /**
+     * map 의 값을 넣은 새 객체, 직접 넣을 수 없는 경우(Jackson 으로 변환해야 하는 경우) null
+     * setter 에서 예외가 나도 null 을 돌려주므로, Jackson 이 같은 예외를 IllegalArgumentException 으로 감싸서 던지게 됨
+     */
+    Object bind(Map<?, ?> map) {
+        if (constructor == null) return null;
+
+        try {
+            Object target = constructor.get();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Property property = properties.get(entry.getKey());
+                if (property == null || !property.set(target, entry.getValue())) return null;
+            }
+            return target;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Property {
+        private final BiConsumer<Object, Object> setter;
+        // 기본형이라면 래퍼 타입
+        private final Class<?> valueType;
+        private final boolean primitive;
+
+        private Property(BiConsumer<Object, Object> setter, Class<?> parameterType) {
+            this.setter = setter;
+            this.valueType = wrap(parameterType);
+            this.primitive = parameterType.isPrimitive();
+        }
+
+        private boolean set(Object target, Object value) {
+            Object converted = convert(value);
+            if (converted == NOT_CONVERTIBLE) return false;
+
+            setter.accept(target, converted);
+            return true;
+        }
+
+        private Object convert(Object value) {
+            // 기본형에 null 을 넣을 때 Jackson 은 기본값으로 setter 를 호출하므로 그쪽에 맡김
+            if (value == null) return primitive ? NOT_CONVERTIBLE : null;
+            if (valueType.isInstance(value)) return value;
+
+            // JSON 을 읽은 Map 의 작은 정수는 Integer 이므로 long, double 프로퍼티에는 넓혀서 넣음 (Jackson 과 같은 값)
+            boolean integral = value instanceof Integer || value instanceof Short || value instanceof Byte;
+            if (valueType == Long.class && integral) return ((Number) value).longValue();
+            if (valueType == Double.class && (integral || value instanceof Long || value instanceof Float)) return ((Number) value).doubleValue();
+            return NOT_CONVERTIBLE;
+        }
+    }
+
+    private static MapBinder create(Class<?> type) {
+        if (!isBindable(type)) return UNSUPPORTED;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Supplier<Object> constructor = createConstructorLambda(lookup, type);
+
+            // 같은 이름의 setter 가 여러개라면 Jackson 이 고르는 것을 따라야 하므로 등록하지 않음
+            Map<String, List<Method>> setters = new LinkedHashMap<>();
+            for (Method method : type.getMethods()) {
+                if (isSetter(method)) setters.computeIfAbsent(getPropertyName(method.getName()), key -> new ArrayList<>()).add(method);
+            }
+
+            Map<String, Property> properties = new HashMap<>();
+            for (Map.Entry<String, List<Method>> entry : setters.entrySet()) {
+                if (entry.getValue().size() != 1) continue;
+
+                Method setter = entry.getValue().get(0);
+                Class<?> parameterType = setter.getParameterTypes()[0];
+                if (!isSimpleType(parameterType)) continue;
+                properties.put(entry.getKey(), new Property(createSetterLambda(lookup, type, setter), parameterType));
+            }
+            return new MapBinder(constructor, properties);
+        } catch (Throwable e) {
+            // 람다를 만들 수 없는 경우(클래스 로더가 다른 경우, public 생성자가 없는 경우 등) Jackson 을 사용함
+            return UNSUPPORTED;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createConstructorLambda(MethodHandles.Lookup lookup, Class<?> type) throws Throwable {
+        MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(type));
+        return (Supplier<Object>) callSite.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetterLambda(MethodHandles.Lookup lookup, Class<?> type, Method setter) throws Throwable {
+        MethodHandle handle = lookup.unreflect(setter);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, type, wrap(setter.getParameterTypes()[0])));
+        return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+    }
+
+    // public 이고 인스턴스를 만들 수 있는 VO 클래스만, 자바 기본 클래스와 컬렉션은 Jackson 에 맡김
+    private static boolean isBindable(Class<?> type) {
+        int modifiers = type.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || type.isInterface() || type.isArray()
+                || type.isPrimitive() || type.isEnum() || (type.getEnclosingClass() != null && !Modifier.isStatic(modifiers))) {
+            return false;
+        }
+        if (type.getName().startsWith("java.") || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) return false;
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (hasJacksonAnnotation(current)) return false;
+            for (Field field : current.getDeclaredFields()) {
+                if (hasJacksonAnnotation(field)) return false;
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (hasJacksonAnnotation(method) || hasJacksonParameterAnnotation(method.getParameterAnnotations())) return false;
+            }
+            for (Constructor<?> constructor : current.getDeclaredConstructors()) {
+                // @ConstructorProperties 생성자는 Jackson 이 기본 생성자 대신 사용함
+                if (hasJacksonAnnotation(constructor) || constructor.isAnnotationPresent(ConstructorProperties.class)
+                        || hasJacksonParameterAnnotation(constructor.getParameterAnnotations())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasJacksonAnnotation(AnnotatedElement element) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (isJacksonAnnotation(annotation)) return true;
+        }
+        return false;
+    }
+
+    private static boolean hasJacksonParameterAnnotation(Annotation[][] parameterAnnotations) {
+        for (Annotation[] annotations : parameterAnnotations) {
+            for (Annotation annotation : annotations) {
+                if (isJacksonAnnotation(annotation)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJacksonAnnotation(Annotation annotation) {
+        return annotation.annotationType().getName().startsWith("com.fasterxml.jackson.");
+    }
+
+    private static boolean isSetter(Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic()
+                && method.getDeclaringClass() != Object.class && method.getParameterCount() == 1
+                && method.getReturnType() == void.class && method.getName().length() > 3 && method.getName().startsWith("set");
+    }
+
+    private static boolean isSimpleType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || SIMPLE_TYPES.contains(type);
+    }
+
+    /**
+     * setter 이름의 프로퍼티명, Jackson 의 기본 규칙과 같이 앞쪽의 대문자들을 소문자로 바꿈 (setUserIdx -> userIdx, setURL -> url)
+     */
+    private static String getPropertyName(String setterName) {
+        StringBuilder name = new StringBuilder(setterName.length() - 3);
+        for (int i = 3; i < setterName.length(); i++) {
+            char c = setterName.charAt(i);
+            char lower = Character.toLowerCase(c);
+            if (c == lower) return name.append(setterName, i, setterName.length()).toString();
+            name.append(lower);
+        }
+        return name.toString();
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -45,39 +47,111 @@ public class ObjectUtils {
 
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    // 리플렉션 Type 별 JavaType 캐시, 코드에 등장하는 타입 수만큼만 쌓임
+    private static final ConcurrentMap<Type, JavaType> javaTypes = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, JavaType> listTypes = new ConcurrentHashMap<>();
+
     public static <T> T toType(Object object, Class<T> valueType) {
         if (object == null) return null;
 
+        // 이미 원하는 타입이라면 변환하지 않고 그대로 반환함
+        if (valueType.isInstance(object)) return valueType.cast(object);
+
+        Object bound = bindMap(object, valueType);
+        if (bound != null) return valueType.cast(bound);
+
         return mapper.convertValue(object, valueType);
     }
 
     public static <T> T toType(Object object, TypeReference<T> valueTypeRef) {
         if (object == null) return null;
 
-        return mapper.convertValue(object, valueTypeRef);
+        return toType(object, valueTypeRef.getType());
     }
 
     public static <T> T toType(Object object, Type type) {
         if (object == null) return null;
 
-        return mapper.convertValue(object, getJavaType(type));
+        JavaType javaType = getJavaType(type);
+        if (isAssignable(object, javaType)) {
+            @SuppressWarnings("unchecked")
+            T value = (T) object;
+            return value;
+        }
+        if (javaType.containedTypeCount() == 0 && !javaType.isContainerType()) {
+            @SuppressWarnings("unchecked")
+            T bound = (T) bindMap(object, javaType.getRawClass());
+            if (bound != null) return bound;
+        }
+
+        return mapper.convertValue(object, javaType);
     }
 
     public static <T> List<T> toTypeList(Object object, Class<T> valueType) {
         if (object == null || valueType == null) return null;
 
-        return mapper.convertValue(object, TypeFactory.defaultInstance().constructCollectionType(ArrayList.class, valueType));
+        // 모든 요소가 이미 원하는 타입이라면 요소 변환 없이 리스트만 복사함
+        if (object instanceof Collection && isAllInstance((Collection<?>) object, valueType)) {
+            @SuppressWarnings("unchecked")
+            Collection<T> collection = (Collection<T>) object;
+            return new ArrayList<>(collection);
+        }
+        if (object instanceof Collection) {
+            List<T> bound = bindMapList((Collection<?>) object, valueType);
+            if (bound != null) return bound;
+        }
+
+        JavaType listType = listTypes.get(valueType);
+        if (listType == null) {
+            listType = listTypes.computeIfAbsent(valueType, key -> TypeFactory.defaultInstance().constructCollectionType(ArrayList.class, valueType));
+        }
+
+        return mapper.convertValue(object, listType);
+    }
+
+    // Map -> VO 는 MapBinder 로 직접 넣음, 넣을 수 없다면 null 이므로 Jackson 으로 변환해야 함
+    private static Object bindMap(Object object, Class<?> valueType) {
+        if (!(object instanceof Map)) return null;
+
+        MapBinder binder = MapBinder.of(valueType);
+        return binder.isSupported() ? binder.bind((Map<?, ?>) object) : null;
+    }
+
+    // 모든 요소가 Map(혹은 null)일 때만 요소별로 직접 넣음, 하나라도 넣을 수 없다면 null
+    private static <T> List<T> bindMapList(Collection<?> collection, Class<T> valueType) {
+        MapBinder binder = MapBinder.of(valueType);
+        if (!binder.isSupported()) return null;
+
+        List<T> result = new ArrayList<>(collection.size());
+        for (Object element : collection) {
+            if (element == null) {
+                result.add(null);
+                continue;
+            }
+            Object bound = element instanceof Map ? binder.bind((Map<?, ?>) element) : null;
+            if (bound == null) return null;
+            result.add(valueType.cast(bound));
+        }
+        return result;
     }
 
     /**
      * 일반 타입일 경우 일반 타입에 대한 JavaType 반환
      *
      * 제네릭 타입일 경우 재귀적인 호출을 통해 모든 구체적인 제네릭 타입이 명시된 JavaType 반환
+     * 한번 만든 JavaType 은 캐싱해두고 재사용함
      *
      * @param type 일반 타입(리플렉션 Type) 혹은 파라미터라이즈 타입(리플렉션 ParameterizedType)
      * @return 제네릭 데이터가 존재하는 JavaType
      */
     public static JavaType getJavaType(Type type) {
+        JavaType javaType = javaTypes.get(type);
+        if (javaType != null) return javaType;
+
+        return javaTypes.computeIfAbsent(type, ObjectUtils::constructJavaType);
+    }
+
+    private static JavaType constructJavaType(Type type) {
         TypeFactory typeFactory = TypeFactory.defaultInstance();
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) type;
@@ -85,7 +159,7 @@ public class ObjectUtils {
 
             List<JavaType> javaTypeList = new ArrayList<>();
             for (Type genericType : parameterizedType.getActualTypeArguments()) {
-                javaTypeList.add(getJavaType(genericType));
+                javaTypeList.add(constructJavaType(genericType));
             }
 
             return typeFactory.constructParametricType((Class<?>) rawType, javaTypeList.toArray(new JavaType[0]));
@@ -94,4 +168,16 @@ public class ObjectUtils {
         }
     }
 
+    // 제네릭 파라미터가 없는 타입만 instanceof 로 판단함 (List<VO> 같은 타입은 요소 타입까지 확인할 수 없으므로 변환을 거침)
+    private static boolean isAssignable(Object object, JavaType javaType) {
+        return javaType.containedTypeCount() == 0 && !javaType.isContainerType() && javaType.getRawClass().isInstance(object);
+    }
+
+    private static boolean isAllInstance(Collection<?> collection, Class<?> valueType) {
+        for (Object element : collection) {
+            if (element != null && !valueType.isInstance(element)) return false;
+        }
+        return true;
+    }
+
 }
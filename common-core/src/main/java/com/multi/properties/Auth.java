@@ -0,0 +1,47 @@
+package com.multi.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * project-data.yml 의 auth 항목
+ * common-auth 의 접근 체크 필터(@EnableAccessCheck)가 Bearer 토큰(JWT)을 검증할 때 사용하는 설정
+ */
+@Getter
+@Setter
+public class Auth {
+    // 토큰이 필요한 경로, 제외할 경로 (AntPath 패턴)
+    private List<String> protectedPaths = new ArrayList<>();
+    private List<String> excludedPaths = new ArrayList<>();
+
+    // 서버 간 시간 차이를 감안해서 exp, nbf 를 검사할 때 허용하는 오차
+    private long clockSkewMillis = 1000 * 60; // 1분
+    // 검증된 토큰 결과를 보관하는 최대 개수 (토큰 만료 시각까지 보관), 검증에 실패한 토큰을 다시 검증하지 않는 시간
+    private int verifiedCacheMaxEntries = 100000;
+    private long negativeCacheMillis = 1000 * 60; // 1분
+
+    // 서명 키(JWKS)를 다시 가져오는 주기, 모르는 kid 를 받았을 때 다시 가져오는 최소 간격
+    private long jwksRefreshMillis = 1000 * 60 * 60; // 1시간
+    private long jwksMinRefreshMillis = 1000 * 30; // 30초
+
+    // 토큰을 발급하는 곳(iss)별 설정
+    private List<Issuer> issuers = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Issuer {
+        // 토큰의 iss 값
+        private String issuer;
+        // 같은 발급처의 다른 iss 표기 (ex: 구글은 https:// 없이 accounts.google.com 으로도 발급함)
+        private List<String> aliases = new ArrayList<>();
+        // JWKS 를 가져올 서버(servers.url 의 키, RestServer)와 경로
+        private String server;
+        private String jwksPath;
+        // 토큰의 aud 에 포함되어야 하는 값 (OAuth 클라이언트 ID), 필수이며 비어있으면 시작하지 않음
+        // ${GOOGLE_CLIENT_ID} 처럼 쓰면 환경 변수, 시스템 프로퍼티 등 스프링 Environment 에서 읽음
+        private String audience;
+    }
+}
@@ -0,0 +1,24 @@
+package com.multi.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * project-data.yml 의 excelExport 항목
+ * 엑셀 파일을 요청 스레드가 아닌 별도 스레드에서 만드는 비동기 내보내기 작업(ExcelExportJobBO)의 설정
+ */
+@Getter
+@Setter
+public class ExcelExport {
+    // 엑셀을 만드는 스레드 수, 대기 중인 작업의 최대 수 (넘으면 요청을 거절함)
+    private int threadCount = 2;
+    private int queueCapacity = 20;
+    // StreamingExcelFile.addSheets() 에서 시트를 병렬로 만드는 전용 풀의 스레드 수 (모든 작업이 함께 사용함)
+    private int sheetThreadCount = 2;
+    // 한 유저가 동시에 진행할 수 있는 작업 수
+    private int maxJobsPerUser = 2;
+    // 완료된 파일을 보관하는 시간, 지나면 파일과 작업 정보를 지움
+    private long resultTtlMillis = 1000 * 60 * 30; // 30분
+    // 완료된 파일을 저장할 디렉토리, 비어있으면 java.io.tmpdir/excel-export
+    private String directory;
+}
@@ -0,0 +1,85 @@
+package com.multi.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * project-data.yml 의 httpLog 항목
+ * HttpLogger 의 동작 방식을 설정함
+ */
+@Getter
+@Setter
+public class HttpLog {
+    // true 일 경우 필터에서는 로그 레코드만 수집하고, 포맷팅/출력은 별도 스레드에서 처리함
+    private boolean async = false;
+    // 비동기 모드에서 미리 만들어두는 로그 레코드 수 (링버퍼 크기)
+    private int queueSize = 4096;
+    // 링버퍼가 가득 찼을 때의 처리 방식
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    // BLOCK 정책일 때 빈 레코드를 기다리는 최대 시간
+    private long blockTimeoutMillis = 10;
+    // 수집 후 해당 시간이 지나서야 출력된 레코드는 지연(late) 레코드로 집계함
+    private long lateThresholdMillis = 1000;
+    // 로깅을 위해 복사해두는 리퀘스트/리스폰스 바디의 최대 크기, 나머지는 복사하지 않고 바로 클라이언트로 내보냄
+    private int bodyCaptureLimit = 8 * 1024;
+
+    // 느린/대용량 요청에 대한 고정 기준치, 라우트별 기준치가 쌓이기 전이거나 adaptiveWarning 이 false 일 때 사용함
+    private long slowResponseMillis = 1000 * 3; // 3초
+    private long largeRequestBytes = 1000 * 1000; // 약 1MB
+    private long largeResponseBytes = 1000 * 1000; // 약 1MB
+
+    // 라우트별로 평소 응답 시간/크기의 이동 평균(EWMA)과 표준편차를 구해서, 평소보다 크게 벗어난 경우에만 경고함
+    private boolean adaptiveWarning = true;
+    // 라우트별 기준치를 사용하기 전에 필요한 최소 요청 수
+    private int baselineMinSamples = 100;
+    // 이동 평균의 가중치 (클수록 최근 값에 민감함)
+    private double baselineAlpha = 0.05;
+    // 평균 + outlierSigma * 표준편차 를 넘으면 경고함
+    private double outlierSigma = 4;
+    // 기준치가 아무리 작아도 해당 값 이하로는 경고하지 않음
+    private long minSlowResponseMillis = 300;
+    private long minLargeResponseBytes = 100 * 1000; // 약 100KB
+
+    // 라우트 URL 패턴(ant 스타일, ex. "/v1/api/poi/**")별 고정 기준치, 지정된 항목은 라우트별 기준치 대신 사용함
+    private Map<String, RouteThreshold> routeThresholds = new LinkedHashMap<>();
+
+    // routePolicies 에 매칭되지 않은 리퀘스트의 로깅 비율 (1 이면 모두 로깅)
+    private double defaultSampleRate = 1;
+    // routePolicies 에 매칭되지 않은 리퀘스트의 초당 최대 로그 수 (0 이하면 제한 없음)
+    private double defaultMaxPerSecond = 0;
+    // 로그 정책, 키는 "[메서드] URL 패턴" 형태 (ex. "GET /v1/api/user/**", "/webjars/**")
+    // 헬스체크("GET /"), 스웨거 관련 URL 은 정책과 상관없이 HttpLogUtils.isExcludedRequest 에서 제외됨
+    // 크리티컬한 예외/상태코드, 경고 플래그가 세워진 로그는 정책과 상관없이 항상 기록함
+    private Map<String, RoutePolicy> routePolicies = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class RoutePolicy {
+        // 로깅할 리퀘스트의 비율 (0 ~ 1, 0 이면 로깅하지 않음)
+        private Double sampleRate;
+        // 초당 최대 로그 수 (0 이하면 제한 없음)
+        private Double maxPerSecond;
+        // 순간적으로 몰릴 때 허용하는 로그 수, 지정하지 않으면 maxPerSecond 와 같음
+        private Integer burst;
+    }
+
+    @Getter
+    @Setter
+    public static class RouteThreshold {
+        private Long slowResponseMillis;
+        private Long largeRequestBytes;
+        private Long largeResponseBytes;
+    }
+
+    public enum OverflowPolicy {
+        // 로그를 버리고 드랍 카운트만 올림
+        DROP,
+        // blockTimeoutMillis 만큼 기다린 뒤에도 자리가 없으면 드랍
+        BLOCK,
+        // 리퀘스트 스레드에서 직접 로그를 기록함
+        CALLER_RUNS
+    }
+}
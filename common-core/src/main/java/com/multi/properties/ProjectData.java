@@ -11,6 +11,11 @@ public class ProjectData {
     private String name;
     private Servers servers;
     private String bannedWord;
+    private HttpLog httpLog = new HttpLog();
+    private RestClient restClient = new RestClient();
+    private ExcelExport excelExport = new ExcelExport();
+    private RedisCache redisCache = new RedisCache();
+    private Auth auth = new Auth();
 
     private boolean serversInitialized = false;
 
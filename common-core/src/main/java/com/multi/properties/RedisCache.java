@@ -0,0 +1,59 @@
+package com.multi.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * project-data.yml 의 redisCache 항목
+ * common-redis 의 2단계 캐시(TwoTierCacheManager) 설정, 서버 안의 near 캐시와 Redis(far 캐시)를 함께 사용함
+ */
+@Getter
+@Setter
+public class RedisCache {
+    // redis : Redis 서버 사용, embedded : JVM 안의 대체 구현 사용 (로컬, 테스트용이며 다른 서버와 공유되지 않음)
+    private String mode = "embedded";
+    private String host = "localhost";
+    private int port = 6379;
+    private String password;
+    private int database = 0;
+    private long commandTimeoutMillis = 1000; // 1초
+
+    // Redis 에 저장하는 키의 접두어 (접두어 + 캐시명 + ':' + 키), near 캐시 무효화 메시지를 주고받는 채널
+    private String keyPrefix = "cache:";
+    private String invalidationChannel = "cache:invalidate";
+
+    // 캐시별 기본값, near 캐시는 개수가 넘으면 자주 쓰이지 않는 항목부터 지움 (W-TinyLFU)
+    private long nearMaxEntries = 10000;
+    // 무효화 메시지를 놓치더라도 near 캐시가 오래된 값을 돌려주는 시간은 nearTtlMillis 를 넘지 않음
+    private long nearTtlMillis = 1000 * 60; // 1분
+    private long farTtlMillis = 1000 * 60 * 10; // 10분
+
+    // @Cacheable(sync = true) 일 때 만료 후 staleMillis 동안은 기존 값을 돌려주고 백그라운드에서 다시 불러옴 (0 이면 만료 시 바로 불러옴)
+    private long staleMillis = 1000 * 30; // 30초
+    // 만료 전 미리 다시 불러올 확률의 가중치 (XFetch), 클수록 일찍 갱신함 (0 이면 미리 갱신하지 않음)
+    private double earlyRefreshBeta = 1.0;
+    // 백그라운드에서 다시 불러오는 스레드 수, 대기 중인 갱신의 최대 수 (넘으면 해당 갱신은 건너뜀)
+    private int refreshThreadCount = 2;
+    private int refreshQueueCapacity = 1000;
+
+    // 캐시(@Cacheable 의 캐시명)별 설정, 지정된 항목은 위의 기본값 대신 사용함
+    private Map<String, CacheOption> cache = new LinkedHashMap<>();
+
+    public CacheOption getCacheOption(String name) {
+        CacheOption option = cache == null ? null : cache.get(name);
+        return option == null ? new CacheOption() : option;
+    }
+
+    @Getter
+    @Setter
+    public static class CacheOption {
+        private Long nearMaxEntries;
+        private Long nearTtlMillis;
+        private Long farTtlMillis;
+        private Long staleMillis;
+        private Double earlyRefreshBeta;
+    }
+}
@@ -0,0 +1,69 @@
+package com.multi.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * project-data.yml 의 restClient 항목
+ * RestApiService 가 외부 서버(servers.url)를 호출할 때 사용하는 커넥션 풀, 타임아웃 설정
+ */
+@Getter
+@Setter
+public class RestClient {
+    // 서버별 커넥션 풀 크기
+    private int maxConnTotal = 120;
+    private int maxConnPerRoute = 100;
+    // keep-alive 로 재사용하는 커넥션의 최대 유지 시간
+    private long connectionTimeToLiveMillis = 1000 * 5; // 5초
+    private int connectTimeoutMillis = 1000 * 5; // 5초
+    private int readTimeoutMillis = 1000 * 5; // 5초
+    // 비동기 클라이언트의 I/O 스레드 수 (0 이하면 CPU 코어 수)
+    private int ioThreadCount = 0;
+
+    // 서버별 동시 호출 수 제한 (벌크헤드), 자리가 없으면 bulkheadWaitMillis 만큼 기다린 뒤 실패 처리함
+    private int maxConcurrentCalls = 50;
+    private long bulkheadWaitMillis = 0;
+
+    // 서버별 서킷 브레이커, 최근 slidingWindowSize 번의 호출 중 실패율이 failureRateThreshold(%) 이상이면 서킷을 엶
+    private int slidingWindowSize = 50;
+    private int minimumCalls = 20;
+    private int failureRateThreshold = 50;
+    // 서킷이 열린 뒤 해당 시간이 지나면 halfOpenProbeCalls 개의 요청만 흘려보내서 서버가 살아났는지 확인함
+    private long openStateMillis = 1000 * 10; // 10초
+    private int halfOpenProbeCalls = 3;
+
+    // RestApiService.batch() 에서 한 서버로 동시에 보내는 요청 수 (maxConcurrentCalls 를 넘지 않음)
+    private int batchParallelism = 10;
+
+    // RestApiService.getCached() 로 호출한 GET 응답 캐시의 최대 개수, 응답 하나의 최대 크기 (넘으면 캐싱하지 않음)
+    private int responseCacheMaxEntries = 1000;
+    private int responseCacheMaxEntryBytes = 1000 * 1000; // 약 1MB
+
+    // project-data.yml 이 바뀌었는지 확인하는 주기, 바뀌었다면 servers.url, 기본 헤더, 타임아웃을 다시 읽음 (0 이하면 확인하지 않음)
+    private long endpointReloadMillis = 1000 * 10; // 10초
+
+    // 서버(servers.url 의 키)별 설정, 지정된 항목은 위의 기본값 대신 사용함
+    private Map<String, ServerOption> server = new LinkedHashMap<>();
+
+    public ServerOption getServerOption(String key) {
+        ServerOption option = server == null ? null : server.get(key);
+        return option == null ? new ServerOption() : option;
+    }
+
+    @Getter
+    @Setter
+    public static class ServerOption {
+        private Integer maxConnTotal;
+        private Integer maxConnPerRoute;
+        private Integer connectTimeoutMillis;
+        private Integer readTimeoutMillis;
+        private Integer maxConcurrentCalls;
+        private Integer failureRateThreshold;
+        private Long openStateMillis;
+        // 해당 서버로 보내는 모든 요청에 붙일 기본 헤더
+        private Map<String, String> headers;
+    }
+}
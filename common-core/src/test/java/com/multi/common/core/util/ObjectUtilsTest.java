@@ -0,0 +1,159 @@
+package com.multi.common.core.util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ObjectUtilsTest {
+    private static final ObjectMapper JACKSON = new ObjectMapper();
+
+    @Test
+    void bindsMapThroughSetters() {
+        Map<String, Object> map = userMap();
+
+        // Jackson 을 거치지 않고 직접 넣었고, 결과는 Jackson 과 같아야 함
+        assertNotNull(MapBinder.of(UserVo.class).bind(map));
+        assertUser(JACKSON.convertValue(map, UserVo.class), ObjectUtils.toType(map, UserVo.class));
+        assertUser(JACKSON.convertValue(map, UserVo.class), ObjectUtils.toType(map, (Type) UserVo.class));
+    }
+
+    @Test
+    void widensIntegersLikeJackson() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userIdx", 7);
+        map.put("point", 3);
+        map.put("score", 5);
+
+        UserVo user = ObjectUtils.toType(map, UserVo.class);
+        assertEquals(3L, user.getPoint());
+        assertEquals(Double.valueOf(5), user.getScore());
+    }
+
+    @Test
+    void usesJacksonPropertyNaming() {
+        Map<String, Object> map = Collections.singletonMap("url", "https://example.com");
+
+        assertNotNull(MapBinder.of(UserVo.class).bind(map));
+        assertEquals("https://example.com", ObjectUtils.toType(map, UserVo.class).getURL());
+    }
+
+    @Test
+    void fallsBackToJacksonWhenValueNeedsConversion() {
+        Map<String, Object> map = userMap();
+        map.put("grade", "GOLD");
+        map.put("userIdx", null);
+        map.put("profile", Collections.singletonMap("nickname", "podong"));
+
+        assertNull(MapBinder.of(UserVo.class).bind(map));
+        UserVo user = ObjectUtils.toType(map, UserVo.class);
+        assertEquals(Grade.GOLD, user.getGrade());
+        assertEquals(0, user.getUserIdx());
+        assertEquals("podong", user.getProfile().getNickname());
+    }
+
+    @Test
+    void unknownPropertyFailsLikeJackson() {
+        Map<String, Object> map = userMap();
+        map.put("unknown", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> JACKSON.convertValue(map, UserVo.class));
+        assertThrows(IllegalArgumentException.class, () -> ObjectUtils.toType(map, UserVo.class));
+    }
+
+    @Test
+    void jacksonAnnotatedClassUsesJackson() {
+        Map<String, Object> map = Collections.singletonMap("user_idx", 7);
+
+        assertEquals(false, MapBinder.of(AnnotatedVo.class).isSupported());
+        assertEquals(7, ObjectUtils.toType(map, AnnotatedVo.class).getUserIdx());
+    }
+
+    @Test
+    void bindsListOfMaps() {
+        List<Object> list = Arrays.asList(userMap(), null, userMap());
+
+        List<UserVo> users = ObjectUtils.toTypeList(list, UserVo.class);
+
+        assertEquals(3, users.size());
+        assertUser(JACKSON.convertValue(userMap(), UserVo.class), users.get(0));
+        assertNull(users.get(1));
+        assertUser(JACKSON.convertValue(userMap(), UserVo.class), users.get(2));
+    }
+
+    private static Map<String, Object> userMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userIdx", 7);
+        map.put("nickname", "podong");
+        map.put("point", 12345678901L);
+        map.put("score", 1.5);
+        map.put("active", true);
+        map.put("grade", Grade.SILVER);
+        return map;
+    }
+
+    private static void assertUser(UserVo expected, UserVo actual) {
+        assertEquals(expected.getUserIdx(), actual.getUserIdx());
+        assertEquals(expected.getNickname(), actual.getNickname());
+        assertEquals(expected.getPoint(), actual.getPoint());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.isActive(), actual.isActive());
+        assertEquals(expected.getGrade(), actual.getGrade());
+    }
+
+    public enum Grade {SILVER, GOLD}
+
+    public static class UserVo {
+        private int userIdx;
+        private String nickname;
+        private long point;
+        private Double score;
+        private boolean active;
+        private Grade grade;
+        private String url;
+        private ProfileVo profile;
+
+        public int getUserIdx() { return userIdx; }
+        public void setUserIdx(int userIdx) { this.userIdx = userIdx; }
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        public long getPoint() { return point; }
+        public void setPoint(long point) { this.point = point; }
+        public Double getScore() { return score; }
+        public void setScore(Double score) { this.score = score; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+        public Grade getGrade() { return grade; }
+        public void setGrade(Grade grade) { this.grade = grade; }
+        public String getURL() { return url; }
+        public void setURL(String url) { this.url = url; }
+        public ProfileVo getProfile() { return profile; }
+        public void setProfile(ProfileVo profile) { this.profile = profile; }
+    }
+
+    public static class ProfileVo {
+        private String nickname;
+
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+    }
+
+    public static class AnnotatedVo {
+        @JsonProperty("user_idx")
+        private int userIdx;
+
+        public int getUserIdx() { return userIdx; }
+        public void setUserIdx(int userIdx) { this.userIdx = userIdx; }
+    }
+}
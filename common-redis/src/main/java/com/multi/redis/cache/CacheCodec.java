@@ -0,0 +1,67 @@
+package com.multi.redis.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.multi.common.core.exception.CommonException;
+
+import java.io.IOException;
+
+/**
+ * far 캐시에 저장하는 값의 인코딩, JSON 문자열 대신 바이너리 JSON(Smile)을 사용함
+ *
+ *  - 숫자는 가변 길이 바이너리로, 반복되는 필드명/짧은 문자열 값은 앞에 나온 값의 참조로 저장되므로 JSON 보다 작고 파싱이 빠름
+ *  - 꺼낼 때 원래 타입으로 복원할 수 있도록 타입 정보를 함께 저장함 (final 클래스 포함, String, Integer 등 JSON 으로 구분되는 타입은 제외)
+ *    NON_FINAL 로는 final 클래스의 값에 타입 정보가 붙지 않아서 Object 로 꺼낼 때 Map 으로 복원되므로 EVERYTHING 을 사용함
+ *  - Redis 의 값으로 임의의 클래스를 만들지 않도록, 복원할 수 있는 타입은 com.multi 와 java 의 기본 타입으로 제한함
+ *  - java.time 타입(LocalDateTime, Instant 등)은 JavaTimeModule 로 ISO-8601 문자열로 저장하고 복원함
+ *    모듈 없이는 java.time 값을 쓸 때 InvalidDefinitionException 이 나므로 허용 목록과 함께 등록해야 함
+ */
+public class CacheCodec {
+    private final ObjectMapper objectMapper;
+    // decode() 에서 Object 로 읽으므로 쓸 때도 Object 기준으로 타입 정보를 붙임
+    private final ObjectWriter objectWriter;
+
+    public CacheCodec() {
+        SmileFactory smileFactory = new SmileFactory();
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+
+        BasicPolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.multi.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType("java.math.")
+                .allowIfSubType("java.time.")
+                .build();
+
+        this.objectMapper = new ObjectMapper(smileFactory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.EVERYTHING)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectWriter = objectMapper.writerFor(Object.class);
+    }
+
+    public byte[] encode(Object value) {
+        try {
+            return objectWriter.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new CommonException(e);
+        }
+    }
+
+    public Object decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new CommonException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.multi.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * JVM 안에서 Redis 를 대신하는 far 캐시, redisCache.mode 가 embedded 일 때 사용함
+ *
+ * 같은 인스턴스를 여러 TwoTierCacheManager 에 넘기면 여러 서버가 Redis 하나를 공유하는 것처럼 동작하므로
+ * Redis 없이 near 캐시 무효화까지 확인할 수 있음
+ * 만료된 키는 읽을 때 지우며, 메시지는 publish() 를 호출한 스레드에서 바로 전달함
+ */
+@Slf4j
+public class EmbeddedFarCache implements FarCache {
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value.clone();
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        entries.put(key, new Entry(value.clone(), System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        List<Consumer<String>> channelListeners = listeners.get(channel);
+        if (channelListeners == null) return;
+
+        for (Consumer<String> listener : channelListeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Failed to handle message on channel {}", channel, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void close() {
+        entries.clear();
+        listeners.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.multi.redis.cache;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * 서버들이 함께 사용하는 far 캐시 (Redis 프로토콜), 값은 CacheCodec 으로 인코딩된 바이트 배열
+ *
+ * 구현체
+ *  - RedisFarCache : Redis 서버
+ *  - EmbeddedFarCache : JVM 안의 대체 구현, 로컬 실행이나 테스트에서 Redis 없이 사용함
+ */
+public interface FarCache extends Closeable {
+    /**
+     * 없거나 만료됐다면 null
+     */
+    byte[] get(String key);
+
+    void set(String key, byte[] value, long ttlMillis);
+
+    void delete(String key);
+
+    /**
+     * prefix 로 시작하는 키를 모두 지움 (Cache.clear())
+     */
+    void deleteByPrefix(String prefix);
+
+    void publish(String channel, String message);
+
+    /**
+     * 자신이 보낸 메시지도 받으므로, 필요하다면 받는 쪽에서 걸러내야 함
+     */
+    void subscribe(String channel, Consumer<String> listener);
+
+    @Override
+    void close();
+}
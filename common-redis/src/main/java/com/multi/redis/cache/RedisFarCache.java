@@ -0,0 +1,119 @@
+package com.multi.redis.cache;
+
+import com.multi.properties.RedisCache;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanIterator;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Redis 서버를 사용하는 far 캐시 (Lettuce)
+ *
+ * 커넥션 하나를 모든 스레드가 함께 사용함 (Lettuce 커넥션은 thread-safe 이며 명령을 파이프라이닝함)
+ * 구독은 별도의 pub/sub 커넥션을 사용하고, 재연결되면 Lettuce 가 채널을 다시 구독함
+ */
+@Slf4j
+public class RedisFarCache implements FarCache {
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final StatefulRedisPubSubConnection<String, String> pubSubConnection;
+
+    public RedisFarCache(RedisCache redisCache) {
+        RedisURI.Builder uri = RedisURI.Builder.redis(redisCache.getHost(), redisCache.getPort())
+                .withDatabase(redisCache.getDatabase())
+                .withTimeout(Duration.ofMillis(redisCache.getCommandTimeoutMillis()));
+        if (redisCache.getPassword() != null && !redisCache.getPassword().isEmpty()) {
+            uri.withPassword(redisCache.getPassword().toCharArray());
+        }
+
+        this.client = RedisClient.create(uri.build());
+        this.connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        this.pubSubConnection = client.connectPubSub();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return connection.sync().get(key);
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        connection.sync().set(key, value, SetArgs.Builder.px(ttlMillis));
+    }
+
+    @Override
+    public void delete(String key) {
+        connection.sync().del(key);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        // KEYS 는 Redis 를 멈추게 하므로 SCAN 으로 나눠서 찾고 지움
+        RedisCommands<String, byte[]> commands = connection.sync();
+        ScanIterator<String> keys = ScanIterator.scan(commands, ScanArgs.Builder.matches(escapeGlob(prefix) + "*").limit(DELETE_BATCH_SIZE));
+
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() == DELETE_BATCH_SIZE) {
+                commands.del(batch.toArray(new String[0]));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) commands.del(batch.toArray(new String[0]));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        connection.sync().publish(channel, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        pubSubConnection.addListener(new RedisPubSubAdapter<String, String>() {
+            @Override
+            public void message(String messageChannel, String message) {
+                if (!channel.equals(messageChannel)) return;
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to handle message on channel {}", channel, e);
+                }
+            }
+        });
+        pubSubConnection.sync().subscribe(channel);
+    }
+
+    @Override
+    public void close() {
+        pubSubConnection.close();
+        connection.close();
+        client.shutdown();
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') escaped.append('\\');
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,390 @@
+package com.multi.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * near 캐시(서버 메모리) + far 캐시(Redis) 2단계 캐시, @Cacheable 의 캐시명 하나에 해당함
+ *
+ *  - 조회 : near -> far -> (없으면) 원래 메소드 호출 순서로 찾고, far 에서 찾은 값은 near 에도 넣어둠
+ *  - 저장/삭제 : far 를 먼저 바꾼 뒤 무효화 메시지를 보내서, 다른 서버들의 near 캐시에서 해당 키를 지움
+ *  - far 캐시에 장애가 나면 캐시 미스로 처리하고 원래 메소드를 호출함 (near 캐시는 계속 사용함)
+ *
+ * @Cacheable(sync = true) 로 호출되면(get(key, valueLoader)) 만료 시점에 요청이 한꺼번에 원래 메소드로 몰리지 않도록
+ *  - 같은 서버 안에서는 키 하나당 한번만 불러오고, 동시에 들어온 요청은 그 결과를 같이 사용함 (single-flight)
+ *  - 만료(farTtlMillis) 전이라도 불러오는데 걸린 시간에 비례한 확률로 미리 다시 불러옴 (XFetch, earlyRefreshBeta)
+ *    서버, 요청마다 갱신 시점이 흩어지므로 모든 서버가 같은 순간에 만료를 맞지 않음
+ *  - 만료 후 staleMillis 동안은 기존 값을 바로 돌려주고 백그라운드에서 다시 불러옴 (stale-while-revalidate)
+ *    미리 / 백그라운드 갱신은 요청 스레드가 아닌 갱신 스레드에서 원래 메소드를 호출하므로, 요청에 묶인 값(ThreadLocal 등)에 의존하는 메소드라면 staleMillis, earlyRefreshBeta 를 0 으로 둬야 함
+ *
+ * near 캐시는 꺼낸 객체를 그대로 돌려주므로, 호출하는 쪽에서 결과 객체를 수정하면 안됨
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    // far 캐시 값의 앞부분 : 만료 시각(long), 불러오는데 걸린 시간(int), 이후는 CacheCodec 으로 인코딩된 값 (null 이면 없음)
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    @Getter
+    private final String name;
+    private final String keyPrefix;
+    private final Cache<String, Entry> near;
+    private final FarCache far;
+    private final CacheCodec codec;
+    private final long farTtlMillis;
+    private final long staleMillis;
+    private final double earlyRefreshBeta;
+    private final TwoTierCacheManager cacheManager;
+    private final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder nearHitCount = new LongAdder();
+    private final LongAdder farHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+    private final LongAdder farErrorCount = new LongAdder();
+
+    public TwoTierCache(String name, String keyPrefix, long nearMaxEntries, long nearTtlMillis, long farTtlMillis, long staleMillis, double earlyRefreshBeta,
+                        FarCache far, CacheCodec codec, TwoTierCacheManager cacheManager) {
+        // null 을 돌려주는 메소드도 매번 호출되지 않도록 null 도 캐싱함 (NullValue)
+        super(true);
+        this.name = name;
+        this.keyPrefix = keyPrefix + name + ":";
+        // maximumSize 를 지정하면 Caffeine 은 W-TinyLFU 로 지울 항목을 고름 (최근 사용 빈도가 낮은 항목부터)
+        this.near = Caffeine.newBuilder()
+                .maximumSize(nearMaxEntries)
+                .expireAfterWrite(nearTtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.far = far;
+        this.codec = codec;
+        this.farTtlMillis = farTtlMillis;
+        this.staleMillis = Math.max(staleMillis, 0);
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @Cacheable(sync = false) 의 조회, 불러올 방법이 없으므로 만료된 값은 돌려주지 않음
+     */
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = getEntry(toCacheKey(key), System.currentTimeMillis(), 0);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @Cacheable(sync = true) 의 조회, 없거나 만료됐으면 valueLoader 로 불러옴 (클래스 설명 참고)
+     */
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = toCacheKey(key);
+        long now = System.currentTimeMillis();
+        Entry entry = getEntry(cacheKey, now, staleMillis);
+
+        if (entry == null) {
+            missCount.increment();
+            return (T) fromStoreValue(load(cacheKey, key, valueLoader).value);
+        }
+
+        if (entry.isExpired(now)) {
+            // 만료됐지만 staleMillis 이내라면 기존 값을 돌려주고 백그라운드에서 다시 불러옴
+            staleHitCount.increment();
+            refreshAsync(cacheKey, key, valueLoader, entry);
+        } else if (shouldRefreshEarly(entry, now)) {
+            refreshAsync(cacheKey, key, valueLoader, entry);
+        }
+        return (T) fromStoreValue(entry.value);
+    }
+
+    // XFetch : now - delta * beta * ln(random) >= expiresAt 이면 미리 갱신함, 만료가 가깝고 불러오는데 오래 걸릴수록 확률이 높아짐
+    private boolean shouldRefreshEarly(Entry entry, long now) {
+        if (earlyRefreshBeta <= 0 || entry.loadMillis <= 0) return false;
+
+        double random = ThreadLocalRandom.current().nextDouble();
+        return now - entry.loadMillis * earlyRefreshBeta * Math.log(random) >= entry.expiresAt;
+    }
+
+    private Entry load(String cacheKey, Object key, Callable<?> valueLoader) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(cacheKey, future);
+        if (existing != null) {
+            // 다른 스레드가 같은 키를 불러오는 중이라면 그 결과를 기다림
+            coalescedCount.increment();
+            return join(existing);
+        }
+
+        try {
+            // 캐시를 확인한 뒤, 앞서 불러오던 스레드가 캐싱하고 inFlight 에서 빠졌을 수 있으므로 다시 확인함
+            long now = System.currentTimeMillis();
+            Entry entry = getEntry(cacheKey, now, staleMillis);
+            if (entry != null && !entry.isExpired(now)) {
+                future.complete(entry);
+                return entry;
+            }
+
+            Entry loaded = loadAndPut(cacheKey, key, valueLoader);
+            future.complete(loaded);
+            return loaded;
+        } catch (Throwable e) {
+            // Error 가 나더라도 같은 키를 기다리는 스레드가 모두 깨어나도록 future 를 완료시킴
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, future);
+        }
+    }
+
+    // 이미 불러오는 중이라면 아무것도 하지 않음, 갱신 스레드가 모두 바쁘면 이번 갱신은 건너뜀 (기존 값은 staleMillis 동안 유지됨)
+    private void refreshAsync(String cacheKey, Object key, Callable<?> valueLoader, Entry current) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(cacheKey, future) != null) return;
+
+        try {
+            cacheManager.getRefreshExecutor().execute(() -> {
+                try {
+                    future.complete(loadAndPut(cacheKey, key, valueLoader));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh cache. cache : {}, key : {}", name, cacheKey, e);
+                } finally {
+                    // 실패했거나 Error 로 빠져나가는 경우 기존 값으로 완료해서 기다리는 스레드를 깨움 (이미 완료됐다면 무시됨)
+                    future.complete(current);
+                    inFlight.remove(cacheKey, future);
+                }
+            });
+            refreshCount.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(cacheKey, future);
+            future.complete(current);
+        }
+    }
+
+    private Entry loadAndPut(String cacheKey, Object key, Callable<?> valueLoader) {
+        long startNanos = System.nanoTime();
+        Object value;
+        try {
+            value = toStoreValue(valueLoader.call());
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        int loadMillis = (int) Math.min(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), Integer.MAX_VALUE);
+
+        Entry entry = new Entry(value, System.currentTimeMillis() + farTtlMillis, loadMillis);
+        putEntry(cacheKey, entry);
+        return entry;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putEntry(toCacheKey(key), new Entry(toStoreValue(value), System.currentTimeMillis() + farTtlMillis, 0));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+
+        deleteFar(cacheKey);
+        near.invalidate(cacheKey);
+        cacheManager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            far.deleteByPrefix(keyPrefix);
+        } catch (RuntimeException e) {
+            onFarError("clear", keyPrefix, e);
+        }
+        near.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near;
+    }
+
+    /**
+     * 다른 서버에서 값이 바뀌었다는 메시지를 받았을 때 near 캐시에서만 지움
+     */
+    void evictNear(String cacheKey) {
+        near.invalidate(cacheKey);
+    }
+
+    void clearNear() {
+        near.invalidateAll();
+    }
+
+    private String toCacheKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    // 만료 후 staleMillis 까지 지나 사용할 수 없는 값은 없는 것으로 봄
+    private Entry getEntry(String cacheKey, long now, long graceMillis) {
+        Entry entry = near.getIfPresent(cacheKey);
+        if (entry != null && !entry.isStale(now, graceMillis)) {
+            nearHitCount.increment();
+            return entry;
+        }
+
+        entry = getFar(cacheKey);
+        if (entry == null || entry.isStale(now, graceMillis)) return null;
+
+        farHitCount.increment();
+        near.put(cacheKey, entry);
+        return entry;
+    }
+
+    private void putEntry(String cacheKey, Entry entry) {
+        putFar(cacheKey, entry);
+        near.put(cacheKey, entry);
+        cacheManager.publishEvict(name, cacheKey);
+    }
+
+    private Entry getFar(String cacheKey) {
+        byte[] bytes;
+        try {
+            bytes = far.get(keyPrefix + cacheKey);
+        } catch (RuntimeException e) {
+            onFarError("get", cacheKey, e);
+            return null;
+        }
+        if (bytes == null || bytes.length < HEADER_BYTES) return null;
+
+        ByteBuffer header = ByteBuffer.wrap(bytes, 0, HEADER_BYTES);
+        long expiresAt = header.getLong();
+        int loadMillis = header.getInt();
+        Object value;
+        try {
+            value = bytes.length == HEADER_BYTES ? NullValue.INSTANCE : codec.decode(Arrays.copyOfRange(bytes, HEADER_BYTES, bytes.length));
+        } catch (RuntimeException e) {
+            // 배포 사이에 클래스가 바뀌었거나 깨진 값이라면 캐시 미스로 처리하고, 다시 읽지 않도록 지움
+            onFarError("decode", cacheKey, e);
+            deleteFar(cacheKey);
+            return null;
+        }
+        return new Entry(value, expiresAt, loadMillis);
+    }
+
+    private void putFar(String cacheKey, Entry entry) {
+        byte[] value;
+        try {
+            value = entry.value == NullValue.INSTANCE ? new byte[0] : codec.encode(entry.value);
+        } catch (RuntimeException e) {
+            // 직렬화할 수 없는 값이라면 near 캐시에만 두고, 다른 서버가 이전 값을 읽지 않도록 far 의 값은 지움
+            onFarError("encode", cacheKey, e);
+            deleteFar(cacheKey);
+            return;
+        }
+        byte[] bytes = ByteBuffer.allocate(HEADER_BYTES + value.length)
+                .putLong(entry.expiresAt)
+                .putInt(entry.loadMillis)
+                .put(value)
+                .array();
+        try {
+            // 만료 후에도 staleMillis 동안은 기존 값을 돌려줄 수 있도록 그만큼 더 보관함
+            far.set(keyPrefix + cacheKey, bytes, farTtlMillis + staleMillis);
+        } catch (RuntimeException e) {
+            onFarError("set", cacheKey, e);
+        }
+    }
+
+    private void deleteFar(String cacheKey) {
+        try {
+            far.delete(keyPrefix + cacheKey);
+        } catch (RuntimeException e) {
+            onFarError("delete", cacheKey, e);
+        }
+    }
+
+    private void onFarError(String command, String cacheKey, RuntimeException e) {
+        farErrorCount.increment();
+        log.warn("Far cache {} failed. cache : {}, key : {}", command, name, cacheKey, e);
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    public long getNearSize() {
+        return near.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return nearHitCount.sum() + farHitCount.sum();
+    }
+
+    public long getNearHitCount() {
+        return nearHitCount.sum();
+    }
+
+    public long getFarHitCount() {
+        return farHitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHitCount.sum();
+    }
+
+    public long getFarErrorCount() {
+        return farErrorCount.sum();
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+        private final int loadMillis;
+
+        private Entry(Object value, long expiresAt, int loadMillis) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.loadMillis = loadMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        // 만료 후 staleMillis 까지 지나서 기존 값도 돌려줄 수 없음 (staleMillis 가 0 이면 isExpired() 와 같음)
+        private boolean isStale(long now, long staleMillis) {
+            return now >= expiresAt + staleMillis;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.multi.redis.cache;
+
+import com.multi.properties.RedisCache;
+import com.multi.properties.RedisCache.CacheOption;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TwoTierCache 를 캐시명별로 만들어주는 CacheManager, @Cacheable("userInfo") 처럼 사용함
+ *
+ * 값이 바뀌면 invalidationChannel 로 무효화 메시지를 보내고, 다른 서버들은 메시지를 받아 near 캐시에서 해당 키를 지움
+ * 메시지 형식 : "{nodeId} E {캐시명} {키}" (키 하나), "{nodeId} C {캐시명}" (캐시 전체), 자신이 보낸 메시지는 무시함
+ * 캐시명에는 공백이 없어야 함
+ *
+ * 만료 전후로 값을 백그라운드에서 다시 불러오는 스레드 풀(refreshThreadCount)을 모든 캐시가 함께 사용함
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, Closeable {
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final RedisCache redisCache;
+    private final FarCache far;
+    private final CacheCodec codec = new CacheCodec();
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    @Getter
+    private final ExecutorService refreshExecutor;
+
+    public TwoTierCacheManager(RedisCache redisCache, FarCache far) {
+        this.redisCache = redisCache == null ? new RedisCache() : redisCache;
+        this.far = far;
+
+        int threadCount = Math.max(this.redisCache.getRefreshThreadCount(), 1);
+        this.refreshExecutor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(this.redisCache.getRefreshQueueCapacity(), 1)), new RefreshThreadFactory());
+
+        far.subscribe(this.redisCache.getInvalidationChannel(), this::onInvalidation);
+    }
+
+    @Override
+    public TwoTierCache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public Collection<TwoTierCache> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    private TwoTierCache createCache(String name) {
+        CacheOption option = redisCache.getCacheOption(name);
+        long nearMaxEntries = option.getNearMaxEntries() != null ? option.getNearMaxEntries() : redisCache.getNearMaxEntries();
+        long nearTtlMillis = option.getNearTtlMillis() != null ? option.getNearTtlMillis() : redisCache.getNearTtlMillis();
+        long farTtlMillis = option.getFarTtlMillis() != null ? option.getFarTtlMillis() : redisCache.getFarTtlMillis();
+        long staleMillis = option.getStaleMillis() != null ? option.getStaleMillis() : redisCache.getStaleMillis();
+        double earlyRefreshBeta = option.getEarlyRefreshBeta() != null ? option.getEarlyRefreshBeta() : redisCache.getEarlyRefreshBeta();
+
+        return new TwoTierCache(name, redisCache.getKeyPrefix(), nearMaxEntries, nearTtlMillis, farTtlMillis, staleMillis, earlyRefreshBeta, far, codec, this);
+    }
+
+    /**
+     * 캐시별 조회 / 갱신 지표
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (TwoTierCache cache : caches.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", cache.getName());
+            item.put("nearSize", cache.getNearSize());
+            item.put("hit", cache.getHitCount());
+            item.put("nearHit", cache.getNearHitCount());
+            item.put("farHit", cache.getFarHitCount());
+            item.put("miss", cache.getMissCount());
+            item.put("coalesced", cache.getCoalescedCount());
+            item.put("refresh", cache.getRefreshCount());
+            item.put("staleHit", cache.getStaleHitCount());
+            item.put("farError", cache.getFarErrorCount());
+            result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    void publishEvict(String name, String cacheKey) {
+        publish(nodeId + " " + EVICT + " " + name + " " + cacheKey);
+    }
+
+    void publishClear(String name) {
+        publish(nodeId + " " + CLEAR + " " + name);
+    }
+
+    private void publish(String message) {
+        try {
+            far.publish(redisCache.getInvalidationChannel(), message);
+        } catch (RuntimeException e) {
+            // 메시지를 놓친 서버의 near 캐시는 nearTtlMillis 가 지나면 far 캐시의 값으로 바뀜
+            log.warn("Failed to publish cache invalidation. message : {}", message, e);
+        }
+    }
+
+    private void onInvalidation(String message) {
+        String[] parts = message.split(" ", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) return;
+
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null) return;
+
+        if (CLEAR.equals(parts[1])) {
+            cache.clearNear();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictNear(parts[3]);
+        }
+    }
+
+    private static class RefreshThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cache-refresh-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
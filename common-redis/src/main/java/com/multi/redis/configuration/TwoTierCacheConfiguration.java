@@ -0,0 +1,41 @@
+package com.multi.redis.configuration;
+
+import com.multi.properties.ProjectData;
+import com.multi.properties.RedisCache;
+import com.multi.redis.cache.EmbeddedFarCache;
+import com.multi.redis.cache.FarCache;
+import com.multi.redis.cache.RedisFarCache;
+import com.multi.redis.cache.TwoTierCacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * common-redis 를 컴포넌트 스캔(com.multi.redis)에 포함시키면 @Cacheable, @CacheEvict 를 2단계 캐시로 처리함
+ * project-data.yml 의 redisCache.mode 가 redis 면 Redis 서버를, 그 외에는 JVM 안의 대체 구현(EmbeddedFarCache)을 사용함
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+public class TwoTierCacheConfiguration {
+    @Bean(destroyMethod = "close")
+    public FarCache farCache(ProjectData projectData) {
+        RedisCache redisCache = getRedisCache(projectData);
+        if ("redis".equalsIgnoreCase(redisCache.getMode())) {
+            return new RedisFarCache(redisCache);
+        }
+
+        log.info("redisCache.mode is {}, using embedded far cache", redisCache.getMode());
+        return new EmbeddedFarCache();
+    }
+
+    @Bean(destroyMethod = "close")
+    public TwoTierCacheManager cacheManager(ProjectData projectData, FarCache farCache) {
+        return new TwoTierCacheManager(getRedisCache(projectData), farCache);
+    }
+
+    private static RedisCache getRedisCache(ProjectData projectData) {
+        return projectData.getRedisCache() == null ? new RedisCache() : projectData.getRedisCache();
+    }
+}
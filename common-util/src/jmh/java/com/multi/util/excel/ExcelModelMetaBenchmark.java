@@ -0,0 +1,146 @@
+package com.multi.util.excel;
+
+import com.podong.annotation.ExcelColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엑셀 셀 값 읽기, 행 rows 개 x 컬럼 7개를 한번에 읽는 시간
+ *  - fieldGet: 기존 StreamingExcelFile 방식 (시트마다 @ExcelColumn 필드를 찾고 셀마다 Field.get)
+ *  - getterLambda: ExcelModelMeta 의 getter 람다 (public 모델 클래스)
+ *  - fieldHandle: ExcelModelMeta 의 MethodHandle 접근자 (public 이 아닌 모델 클래스)
+ * 워크북에 쓰는 비용은 빼고 값을 꺼내는 비용만 비교함, 컬럼은 StreamingExcelFile.writeRows() 와 같이 인덱스로 순회함
+ * ./gradlew :common-util:jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelModelMetaBenchmark {
+    @Param("1000000")
+    private int rows;
+
+    private List<UserRow> userRows;
+    private List<HiddenRow> hiddenRows;
+
+    @Setup
+    public void setup() {
+        userRows = new ArrayList<>(rows);
+        hiddenRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            userRows.add(new UserRow(i));
+            hiddenRows.add(new HiddenRow(i));
+        }
+    }
+
+    @Benchmark
+    public void fieldGet(Blackhole blackhole) throws IllegalAccessException {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : UserRow.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelColumn.class)) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+
+        for (UserRow row : userRows) {
+            for (int i = 0; i < fields.size(); i++) blackhole.consume(fields.get(i).get(row));
+        }
+    }
+
+    @Benchmark
+    public void getterLambda(Blackhole blackhole) {
+        List<ExcelModelMeta.Column> columns = ExcelModelMeta.of(UserRow.class).getColumns();
+        for (UserRow row : userRows) {
+            for (int i = 0; i < columns.size(); i++) blackhole.consume(columns.get(i).getValue(row));
+        }
+    }
+
+    @Benchmark
+    public void fieldHandle(Blackhole blackhole) {
+        List<ExcelModelMeta.Column> columns = ExcelModelMeta.of(HiddenRow.class).getColumns();
+        for (HiddenRow row : hiddenRows) {
+            for (int i = 0; i < columns.size(); i++) blackhole.consume(columns.get(i).getValue(row));
+        }
+    }
+
+    // UserExcelDetailCol 과 같은 구성
+    public static class UserRow {
+        @ExcelColumn(headerName = "순위")
+        private final int rank;
+        @ExcelColumn(headerName = "유저정보")
+        private final String userIdx;
+        @ExcelColumn(headerName = "국가")
+        private final String countryName;
+        @ExcelColumn(headerName = "기기")
+        private final String device;
+        @ExcelColumn(headerName = "닉네임")
+        private final String nickname;
+        @ExcelColumn(headerName = "이메일")
+        private final String email;
+        @ExcelColumn(headerName = "유저 보유 금액")
+        private final int amount;
+
+        UserRow(int i) {
+            this.rank = i;
+            this.userIdx = "100000" + i;
+            this.countryName = "한국";
+            this.device = "AOS";
+            this.nickname = "nickname_" + i;
+            this.email = "user" + i + "@example.com";
+            this.amount = i + 1000;
+        }
+
+        public int getRank() { return rank; }
+        public String getUserIdx() { return userIdx; }
+        public String getCountryName() { return countryName; }
+        public String getDevice() { return device; }
+        public String getNickname() { return nickname; }
+        public String getEmail() { return email; }
+        public int getAmount() { return amount; }
+    }
+
+    static class HiddenRow {
+        @ExcelColumn(headerName = "순위")
+        private final int rank;
+        @ExcelColumn(headerName = "유저정보")
+        private final String userIdx;
+        @ExcelColumn(headerName = "국가")
+        private final String countryName;
+        @ExcelColumn(headerName = "기기")
+        private final String device;
+        @ExcelColumn(headerName = "닉네임")
+        private final String nickname;
+        @ExcelColumn(headerName = "이메일")
+        private final String email;
+        @ExcelColumn(headerName = "유저 보유 금액")
+        private final int amount;
+
+        HiddenRow(int i) {
+            this.rank = i;
+            this.userIdx = "100000" + i;
+            this.countryName = "한국";
+            this.device = "AOS";
+            this.nickname = "nickname_" + i;
+            this.email = "user" + i + "@example.com";
+            this.amount = i + 1000;
+        }
+    }
+}
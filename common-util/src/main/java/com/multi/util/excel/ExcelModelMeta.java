@@ -0,0 +1,164 @@
+package com.multi.util.excel;
+
+import com.podong.annotation.DefaultBodyStyle;
+import com.podong.annotation.DefaultHeaderStyle;
+import com.podong.annotation.ExcelColumn;
+import com.podong.annotation.ExcelColumnStyle;
+import com.podong.style.ExcelCellStyle;
+import lombok.Getter;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * @ExcelColumn 모델 클래스의 엑셀 메타데이터 (헤더명, 컬럼 순서, 기본 스타일, 값을 꺼내는 접근자)
+ *
+ * 클래스당 한번만 만들어서 캐싱하므로 시트마다 어노테이션, 필드, 스타일을 다시 찾지 않음
+ * 셀 값은 public getter 가 있다면 getter 를 직접 호출하는 람다로, 없다면 필드의 MethodHandle 로 꺼냄
+ * 컬럼마다 람다 클래스가 달라서 호출 지점이 메가모픽이 되므로 셀당 비용은 Field.get 보다 빠르지 않음 (ExcelModelMetaBenchmark 참고)
+ */
+@Getter
+public class ExcelModelMeta {
+    private static final ConcurrentMap<Class<?>, ExcelModelMeta> CACHE = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    private final List<Column> columns;
+    private final List<String> headerNames;
+    // 클래스의 @DefaultHeaderStyle, @DefaultBodyStyle, 없으면 null
+    private final ExcelCellStyle headerStyle;
+    private final ExcelCellStyle bodyStyle;
+
+    private ExcelModelMeta(Class<?> type) {
+        this.type = type;
+
+        List<Column> columns = new ArrayList<>();
+        List<String> headerNames = new ArrayList<>();
+        for (Field field : getExcelColumnFields(type)) {
+            String headerName = field.getAnnotation(ExcelColumn.class).headerName();
+            columns.add(new Column(field.getName(), headerName, createAccessor(type, field)));
+            headerNames.add(headerName);
+        }
+        this.columns = Collections.unmodifiableList(columns);
+        this.headerNames = Collections.unmodifiableList(headerNames);
+
+        DefaultHeaderStyle defaultHeaderStyle = type.getAnnotation(DefaultHeaderStyle.class);
+        DefaultBodyStyle defaultBodyStyle = type.getAnnotation(DefaultBodyStyle.class);
+        this.headerStyle = defaultHeaderStyle == null ? null : createExcelCellStyle(defaultHeaderStyle.style());
+        this.bodyStyle = defaultBodyStyle == null ? null : createExcelCellStyle(defaultBodyStyle.style());
+    }
+
+    public static ExcelModelMeta of(Class<?> type) {
+        return CACHE.computeIfAbsent(type, ExcelModelMeta::new);
+    }
+
+    @Getter
+    public static class Column {
+        private final String name;
+        private final String headerName;
+        private final Function<Object, Object> accessor;
+
+        private Column(String name, String headerName, Function<Object, Object> accessor) {
+            this.name = name;
+            this.headerName = headerName;
+            this.accessor = accessor;
+        }
+
+        public Object getValue(Object data) {
+            return accessor.apply(data);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ExcelCellStyle createExcelCellStyle(ExcelColumnStyle columnStyle) {
+        Class<? extends ExcelCellStyle> styleClass = columnStyle.excelCellStyleClass();
+        if (styleClass.isEnum()) return (ExcelCellStyle) Enum.valueOf((Class) styleClass, columnStyle.enumName());
+
+        try {
+            return styleClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to create excel cell style " + styleClass.getName(), e);
+        }
+    }
+
+    // 상위 클래스의 필드부터 선언 순서대로
+    private static List<Field> getExcelColumnFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            fields.addAll(getExcelColumnFields(type.getSuperclass()));
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelColumn.class)) fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * 필드 값을 꺼내는 접근자
+     * public getter 가 있다면 LambdaMetafactory 로 getter 를 직접 호출하는 람다를 만들고, 없다면 필드의 MethodHandle 을 사용함
+     */
+    private static Function<Object, Object> createAccessor(Class<?> type, Field field) {
+        Method getter = findGetter(type, field);
+        if (getter != null) {
+            try {
+                return createGetterLambda(type, getter);
+            } catch (Throwable e) {
+                // 람다를 만들 수 없는 경우(클래스 로더가 다른 경우 등) 아래의 MethodHandle 을 사용함
+            }
+        }
+
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            return data -> {
+                try {
+                    return handle.invokeExact(data);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Failed to read excel column " + field.getName(), e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access excel column " + field.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetterLambda(Class<?> type, Method getter) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(getter);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                MethodType.methodType(MethodType.methodType(getter.getReturnType()).wrap().returnType(), type));
+        return (Function<Object, Object>) callSite.getTarget().invokeExact();
+    }
+
+    // Lombok @Getter 규칙의 public getter (boolean 은 isXxx)
+    private static Method findGetter(Class<?> type, Field field) {
+        if (!Modifier.isPublic(type.getModifiers())) return null;
+
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        String[] names = field.getType() == boolean.class ? new String[]{"is" + suffix, "get" + suffix} : new String[]{"get" + suffix};
+        for (String name : names) {
+            try {
+                Method method = type.getMethod(name);
+                if (method.getReturnType() == field.getType()) return method;
+            } catch (NoSuchMethodException e) {
+                // 다음 이름으로 찾음
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.multi.util.excel;
+
+import com.podong.style.ExcelCellStyle;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * StreamingExcelFile 에 추가할 시트 하나의 정의 (헤더, 컬럼별 값 추출, 스타일, 행 데이터)
+ * 행 데이터는 시트를 쓸 때 rows 를 호출해서 가져오므로, 여러 시트를 병렬로 만들 때 데이터 조회도 같이 병렬로 이뤄짐
+ */
+@Getter
+public class ExcelSheet<T> {
+    private final List<String> headerNames;
+    private final List<Function<Object, Object>> columns;
+    private final ExcelCellStyle headerStyle;
+    private final ExcelCellStyle bodyStyle;
+    private final Supplier<Stream<T>> rows;
+
+    private ExcelSheet(List<String> headerNames, List<Function<Object, Object>> columns,
+                       ExcelCellStyle headerStyle, ExcelCellStyle bodyStyle, Supplier<Stream<T>> rows) {
+        this.headerNames = headerNames;
+        this.columns = columns;
+        this.headerStyle = headerStyle;
+        this.bodyStyle = bodyStyle;
+        this.rows = rows;
+    }
+
+    /**
+     * @ExcelColumn 이 붙은 필드를 컬럼으로 하는 시트
+     */
+    public static <T> ExcelSheet<T> of(Class<T> type, Supplier<Stream<T>> rows) {
+        ExcelModelMeta meta = ExcelModelMeta.of(type);
+        List<Function<Object, Object>> columns = new ArrayList<>();
+        for (ExcelModelMeta.Column column : meta.getColumns()) columns.add(column.getAccessor());
+
+        return new ExcelSheet<>(meta.getHeaderNames(), columns, meta.getHeaderStyle(), meta.getBodyStyle(), rows);
+    }
+
+    /**
+     * Map 을 행으로 하는 시트, keys 순서대로 컬럼을 만들고 헤더명은 같은 위치의 headerNames 를 사용함
+     */
+    public static ExcelSheet<Map<String, Object>> of(List<String> headerNames, List<String> keys, Supplier<Stream<Map<String, Object>>> rows) {
+        List<Function<Object, Object>> columns = new ArrayList<>();
+        for (String key : keys) columns.add(data -> ((Map<?, ?>) data).get(key));
+
+        return new ExcelSheet<>(headerNames, columns, null, null, rows);
+    }
+}
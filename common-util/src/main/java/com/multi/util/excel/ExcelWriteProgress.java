@@ -0,0 +1,34 @@
+package com.multi.util.excel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StreamingExcelFile 이 지금까지 쓴 행, 시트 수
+ * 엑셀을 만드는 중에 다른 스레드(작업 상태 조회 등)에서 읽을 수 있음
+ *  - 행 수는 셀마다 갱신하지 않고 PROGRESS_ROWS 행마다, 그리고 시트가 끝날 때 반영함 (병렬로 만드는 시트들이 함께 갱신함)
+ *  - 시트 수는 행을 모두 쓴 시트만 셈
+ */
+public class ExcelWriteProgress {
+    // 행 수를 반영하는 단위
+    static final int PROGRESS_ROWS = 1000;
+
+    private final LongAdder writtenRows = new LongAdder();
+    private final AtomicInteger writtenSheets = new AtomicInteger();
+
+    void addRows(long rows) {
+        if (rows > 0) writtenRows.add(rows);
+    }
+
+    void sheetDone() {
+        writtenSheets.incrementAndGet();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.sum();
+    }
+
+    public int getWrittenSheets() {
+        return writtenSheets.get();
+    }
+}
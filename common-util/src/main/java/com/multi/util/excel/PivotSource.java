@@ -0,0 +1,237 @@
+package com.multi.util.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 피벗 엑셀(GcSheetExcelFile)에 넘길 원본 데이터를 컬럼 단위로 담는 테이블
+ *
+ * List<List<Object>> 로 담으면 행마다 Integer 박싱과 같은 문자열("한국", "AOS" 등)이 반복되므로
+ *  - 숫자 컬럼은 int[], long[] 배열에 그대로 담고
+ *  - 문자열 컬럼은 사전(dictionary)에 한번만 저장하고 행에는 int 코드만 담음
+ * aggregate() 로 피벗의 행/페이지/열 필드 기준으로 미리 합산해두면, 피벗 엔진은 합산된 행만 받아서 처리함
+ */
+public class PivotSource {
+    public enum Type {
+        INT, LONG, STRING
+    }
+
+    private final Type[] types;
+    private final Object[] columns;
+    private int rowCount = 0;
+    private int capacity;
+
+    public PivotSource(int expectedRows, Type... types) {
+        this.types = types.clone();
+        this.capacity = Math.max(expectedRows, 16);
+        this.columns = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case INT:
+                    columns[i] = new int[capacity];
+                    break;
+                case LONG:
+                    columns[i] = new long[capacity];
+                    break;
+                default:
+                    columns[i] = new StringColumn(capacity);
+            }
+        }
+    }
+
+    /**
+     * 빈 행을 추가하고 행 번호를 돌려줌, 값은 setInt(), setLong(), setString() 으로 채움
+     */
+    public int addRow() {
+        if (rowCount == capacity) grow();
+        return rowCount++;
+    }
+
+    public PivotSource setInt(int row, int column, int value) {
+        ((int[]) columns[column])[row] = value;
+        return this;
+    }
+
+    public PivotSource setLong(int row, int column, long value) {
+        ((long[]) columns[column])[row] = value;
+        return this;
+    }
+
+    public PivotSource setString(int row, int column, String value) {
+        ((StringColumn) columns[column]).set(row, value);
+        return this;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return types.length;
+    }
+
+    /**
+     * groupColumns 의 값이 같은 행들을 하나로 합치고 sumColumns 는 합산한 테이블
+     * 합산 컬럼은 넘치지 않도록 LONG 이 되며, 그 외 컬럼은 피벗에서 사용하지 않으므로 비워둠(null)
+     * 피벗의 데이터 필드가 합계(Sum)로 집계될 때만 원본으로 만든 피벗과 결과가 같음
+     */
+    public PivotSource aggregate(int[] groupColumns, int[] sumColumns) {
+        Type[] resultTypes = new Type[types.length];
+        boolean[] used = new boolean[types.length];
+        for (int column : groupColumns) {
+            resultTypes[column] = types[column];
+            used[column] = true;
+        }
+        for (int column : sumColumns) {
+            if (types[column] == Type.STRING) throw new IllegalArgumentException("Cannot sum string column " + column);
+            resultTypes[column] = Type.LONG;
+            used[column] = true;
+        }
+        // 사용하지 않는 컬럼은 가장 작은 코드 배열로 두고 값은 넣지 않음
+        for (int i = 0; i < types.length; i++) {
+            if (!used[i]) resultTypes[i] = Type.STRING;
+        }
+
+        PivotSource result = new PivotSource(16, resultTypes);
+        Map<GroupKey, Integer> groups = new HashMap<>();
+        long[] key = new long[groupColumns.length];
+        for (int row = 0; row < rowCount; row++) {
+            for (int i = 0; i < groupColumns.length; i++) key[i] = getKeyValue(row, groupColumns[i]);
+
+            GroupKey groupKey = new GroupKey(key);
+            Integer groupRow = groups.get(groupKey);
+            if (groupRow == null) {
+                groupRow = result.addRow();
+                groups.put(new GroupKey(key.clone()), groupRow);
+                for (int column : groupColumns) copyValue(row, column, result, groupRow);
+            }
+            for (int column : sumColumns) {
+                long[] sums = (long[]) result.columns[column];
+                sums[groupRow] += getNumber(row, column);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * GcSheetExcelFile 에 넘길 행 목록, 문자열은 사전의 같은 인스턴스를 공유함
+     */
+    public List<List<Object>> toRows() {
+        List<List<Object>> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            Object[] values = new Object[types.length];
+            for (int column = 0; column < types.length; column++) values[column] = getValue(row, column);
+            rows.add(Arrays.asList(values));
+        }
+        return rows;
+    }
+
+    public Object getValue(int row, int column) {
+        switch (types[column]) {
+            case INT:
+                return ((int[]) columns[column])[row];
+            case LONG:
+                return ((long[]) columns[column])[row];
+            default:
+                return ((StringColumn) columns[column]).get(row);
+        }
+    }
+
+    private long getNumber(int row, int column) {
+        return types[column] == Type.INT ? ((int[]) columns[column])[row] : ((long[]) columns[column])[row];
+    }
+
+    // 그룹 키로 사용할 값, 문자열은 사전 코드
+    private long getKeyValue(int row, int column) {
+        return types[column] == Type.STRING ? ((StringColumn) columns[column]).codes[row] : getNumber(row, column);
+    }
+
+    private void copyValue(int row, int column, PivotSource target, int targetRow) {
+        switch (types[column]) {
+            case INT:
+                target.setInt(targetRow, column, ((int[]) columns[column])[row]);
+                break;
+            case LONG:
+                target.setLong(targetRow, column, ((long[]) columns[column])[row]);
+                break;
+            default:
+                target.setString(targetRow, column, ((StringColumn) columns[column]).get(row));
+        }
+    }
+
+    private void grow() {
+        capacity = capacity + (capacity >> 1);
+        for (int i = 0; i < columns.length; i++) {
+            switch (types[i]) {
+                case INT:
+                    columns[i] = Arrays.copyOf((int[]) columns[i], capacity);
+                    break;
+                case LONG:
+                    columns[i] = Arrays.copyOf((long[]) columns[i], capacity);
+                    break;
+                default:
+                    ((StringColumn) columns[i]).grow(capacity);
+            }
+        }
+    }
+
+    // 문자열 사전 + 행별 코드 (-1 은 null)
+    private static class StringColumn {
+        private int[] codes;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codeByValue = new HashMap<>();
+
+        private StringColumn(int capacity) {
+            codes = new int[capacity];
+            Arrays.fill(codes, -1);
+        }
+
+        private void set(int row, String value) {
+            if (value == null) {
+                codes[row] = -1;
+                return;
+            }
+            Integer code = codeByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codeByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        private String get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        private void grow(int capacity) {
+            int oldLength = codes.length;
+            codes = Arrays.copyOf(codes, capacity);
+            Arrays.fill(codes, oldLength, capacity, -1);
+        }
+    }
+
+    private static class GroupKey {
+        private final long[] values;
+        private final int hash;
+
+        private GroupKey(long[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GroupKey && Arrays.equals(values, ((GroupKey) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.multi.util.excel;
+
+import com.podong.style.ExcelCellStyle;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 대용량 엑셀을 위한 스트리밍 방식의 엑셀 파일 (POI SXSSF)
+ *
+ * PoiSheetExcelFile 은 전체 리스트를 받아 워크북 전체를 메모리에 만든 뒤에 쓰지만, 이 클래스는
+ *  - 행을 Iterator, Stream 에서 하나씩 꺼내서 쓰므로 호출하는 쪽에서 전체 리스트를 만들 필요가 없고
+ *  - 메모리에는 최근 ROW_ACCESS_WINDOW_SIZE 개의 행만 두고, 나머지는 압축된 임시 파일로 내보내며
+ *  - 헤더, 바디 스타일(@DefaultHeaderStyle, @DefaultBodyStyle)은 워크북당 한번만 만들어서 모든 셀이 재사용함
+ *  - 컬럼 정보와 셀 값 접근자는 클래스별로 캐싱된 ExcelModelMeta 를 사용함
+ *  - 지금까지 쓴 행, 시트 수를 ExcelWriteProgress 로 알려주므로 오래 걸리는 내보내기의 진행 상황을 볼 수 있음
+ *
+ * 사용 후에는 임시 파일을 지우기 위해 반드시 close() 를 호출해야 함
+ * ex) try (StreamingExcelFile excelFile = new StreamingExcelFile()) {
+ *         excelFile.addSheet(userBO.getUserExcelDetailColStream(), UserExcelDetailCol.class);
+ *         excelFile.write(response.getOutputStream());
+ *     }
+ */
+@Slf4j
+public class StreamingExcelFile implements Closeable {
+    // 메모리에 유지하는 행 수, 넘어가는 행은 임시 파일로 내보냄
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+    // addSheets() 에서 동시에 만드는 시트 수의 기본값, 엑셀 생성이 CPU 를 모두 차지하지 않도록 제한함
+    private static final int DEFAULT_SHEET_PARALLELISM = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+
+    private final SXSSFWorkbook workbook;
+    // ExcelCellStyle 별로 만든 CellStyle (워크북의 스타일 개수 제한이 있으므로 셀마다 만들지 않음)
+    private final Map<ExcelCellStyle, CellStyle> styles = new HashMap<>();
+    private final ExcelWriteProgress progress;
+
+    public StreamingExcelFile() {
+        this(new ExcelWriteProgress());
+    }
+    /**
+     * @param progress 쓴 행, 시트 수를 반영할 객체, 작업 상태 조회 등에서 만드는 중에 읽을 수 있음
+     */
+    public StreamingExcelFile(ExcelWriteProgress progress) {
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+        this.workbook.setCompressTempFiles(true);
+        this.progress = progress;
+    }
+
+    public ExcelWriteProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * @ExcelColumn 이 붙은 필드를 컬럼으로 하는 시트를 추가함, 헤더명은 headerName 을 사용함
+     */
+    public <T> StreamingExcelFile addSheet(Iterator<T> rows, Class<T> type) {
+        writeRows(createSheet(ExcelSheet.of(type, null)), rows);
+        return this;
+    }
+    public <T> StreamingExcelFile addSheet(Stream<T> rows, Class<T> type) {
+        try (Stream<T> stream = rows) {
+            return addSheet(stream.iterator(), type);
+        }
+    }
+
+    /**
+     * Map 을 행으로 하는 시트를 추가함, keys 순서대로 컬럼을 만들고 헤더명은 같은 위치의 headerNames 를 사용함
+     */
+    public StreamingExcelFile addSheet(Iterator<Map<String, Object>> rows, List<String> headerNames, List<String> keys) {
+        writeRows(createSheet(ExcelSheet.of(headerNames, keys, null)), rows);
+        return this;
+    }
+    public StreamingExcelFile addSheet(Stream<Map<String, Object>> rows, List<String> headerNames, List<String> keys) {
+        try (Stream<Map<String, Object>> stream = rows) {
+            return addSheet(stream.iterator(), headerNames, keys);
+        }
+    }
+
+    /**
+     * 시트들을 호출한 스레드에서 순서대로 만듦, 각 시트의 데이터 조회(ExcelSheet.rows)와 행 쓰기가 이어서 이뤄짐
+     */
+    public StreamingExcelFile addSheets(List<ExcelSheet<?>> sheets) {
+        for (ExcelSheet<?> sheet : sheets) createSheet(sheet).fill();
+        return this;
+    }
+    /**
+     * 서로 독립적인 시트들을 executor 에서 병렬로 만듦, 시트 순서는 sheets 의 순서를 따름
+     * 각 시트의 데이터 조회(ExcelSheet.rows)와 행 쓰기가 작업 스레드에서 이뤄지며, 모든 시트가 끝나야 반환함
+     *
+     * 시트, 헤더, 스타일은 호출한 스레드에서 미리 만들고, 병렬 작업은 각자의 시트(임시 파일)에만 행을 쓰므로 서로 간섭하지 않음
+     */
+    public StreamingExcelFile addSheets(List<ExcelSheet<?>> sheets, Executor executor) {
+        return addSheets(sheets, executor, DEFAULT_SHEET_PARALLELISM);
+    }
+    /**
+     * @param executor    시트를 만드는 스레드 풀, 스레드 수가 정해진 엑셀 전용 풀을 넘겨야 함
+     *                    (ForkJoinPool.commonPool() 은 비동기 콜백, 병렬 스트림과 함께 쓰므로 오래 걸리는 시트 작업으로 막지 않음)
+     * @param parallelism 동시에 만드는 최대 시트 수
+     */
+    public StreamingExcelFile addSheets(List<ExcelSheet<?>> sheets, Executor executor, int parallelism) {
+        List<SheetContext<?>> contexts = new ArrayList<>(sheets.size());
+        for (ExcelSheet<?> sheet : sheets) contexts.add(createSheet(sheet));
+
+        int workerCount = Math.min(Math.max(parallelism, 1), contexts.size());
+        if (workerCount <= 1) {
+            for (SheetContext<?> context : contexts) context.fill();
+            return this;
+        }
+
+        // workerCount 개의 작업이 남은 시트를 하나씩 가져가서 만듦
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int index;
+            while ((index = cursor.getAndIncrement()) < contexts.size()) {
+                try {
+                    contexts.get(index).fill();
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(workerCount);
+        try {
+            for (int i = 0; i < workerCount; i++) tasks.add(CompletableFuture.runAsync(worker, executor));
+        } catch (RejectedExecutionException e) {
+            // 풀이 종료 중이라면 남은 시트는 호출한 스레드에서 만듦
+            log.warn("Excel sheet executor rejected a worker, filling remaining sheets in the calling thread", e);
+            worker.run();
+        }
+
+        // 나머지 시트도 끝날 때까지 기다린 뒤에 첫번째 예외를 던짐 (close() 전에 모든 쓰기가 끝나야 함)
+        for (CompletableFuture<Void> task : tasks) task.join();
+        if (failure.get() != null) throw failure.get();
+        return this;
+    }
+
+    /**
+     * 임시 파일로 내보낸 행들을 이어붙여 out 으로 씀, out 은 닫지 않음
+     */
+    public void write(OutputStream out) throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        workbook.dispose();
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            log.warn("Failed to close streaming excel workbook", e);
+        }
+    }
+
+    // 시트, 헤더 행, 스타일을 만듦 (워크북을 수정하므로 호출한 스레드에서만 실행함)
+    private <T> SheetContext<T> createSheet(ExcelSheet<T> excelSheet) {
+        Sheet sheet = workbook.createSheet();
+        CellStyle headerStyle = getStyle(excelSheet.getHeaderStyle());
+        CellStyle bodyStyle = getStyle(excelSheet.getBodyStyle());
+
+        Row row = sheet.createRow(0);
+        List<String> headerNames = excelSheet.getHeaderNames();
+        for (int i = 0; i < headerNames.size(); i++) {
+            writeCell(row.createCell(i), headerNames.get(i), headerStyle);
+        }
+        return new SheetContext<>(sheet, excelSheet, bodyStyle, progress);
+    }
+
+    private static <T> void writeRows(SheetContext<T> context, Iterator<T> rows) {
+        List<Function<Object, Object>> columns = context.excelSheet.getColumns();
+        int rowIndex = 1;
+        int unreportedRows = 0;
+        while (rows.hasNext()) {
+            T data = rows.next();
+            Row row = context.sheet.createRow(rowIndex++);
+            for (int i = 0; i < columns.size(); i++) {
+                writeCell(row.createCell(i), columns.get(i).apply(data), context.bodyStyle);
+            }
+            if (++unreportedRows == ExcelWriteProgress.PROGRESS_ROWS) {
+                context.progress.addRows(unreportedRows);
+                unreportedRows = 0;
+            }
+        }
+        context.progress.addRows(unreportedRows);
+        context.progress.sheetDone();
+    }
+
+    private static void writeCell(Cell cell, Object value, CellStyle style) {
+        if (style != null) cell.setCellStyle(style);
+        if (value == null) return;
+
+        if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+        } else if (value instanceof Calendar) {
+            cell.setCellValue((Calendar) value);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    private CellStyle getStyle(ExcelCellStyle excelCellStyle) {
+        if (excelCellStyle == null) return null;
+
+        return styles.computeIfAbsent(excelCellStyle, key -> {
+            CellStyle cellStyle = workbook.createCellStyle();
+            excelCellStyle.apply(cellStyle);
+            return cellStyle;
+        });
+    }
+
+    private static class SheetContext<T> {
+        private final Sheet sheet;
+        private final ExcelSheet<T> excelSheet;
+        private final CellStyle bodyStyle;
+        private final ExcelWriteProgress progress;
+
+        private SheetContext(Sheet sheet, ExcelSheet<T> excelSheet, CellStyle bodyStyle, ExcelWriteProgress progress) {
+            this.sheet = sheet;
+            this.excelSheet = excelSheet;
+            this.bodyStyle = bodyStyle;
+            this.progress = progress;
+        }
+
+        private void fill() {
+            try (Stream<T> stream = excelSheet.getRows().get()) {
+                writeRows(this, stream.iterator());
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.multi.util.excel;
+
+import com.podong.annotation.ExcelColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ExcelModelMetaTest {
+    @Test
+    void columnsFollowFieldOrderWithSuperclassFirst() {
+        ExcelModelMeta meta = ExcelModelMeta.of(UserRow.class);
+
+        assertEquals(Arrays.asList("번호", "닉네임", "활성", "인증", "메모"), meta.getHeaderNames());
+        assertEquals(Arrays.asList("idx", "nickname", "active", "verified", "memo"), names(meta.getColumns()));
+        assertSame(meta, ExcelModelMeta.of(UserRow.class));
+    }
+
+    @Test
+    void readsThroughPublicGetters() {
+        UserRow row = new UserRow(7, "podong", true, Boolean.TRUE, "memo");
+        List<ExcelModelMeta.Column> columns = ExcelModelMeta.of(UserRow.class).getColumns();
+
+        // getter 를 거쳤다면 getter 가 돌려준 값, getter 가 없는 필드(memo)는 필드 값을 그대로 읽음
+        assertEquals(7, columns.get(0).getValue(row));
+        assertEquals("podong!", columns.get(1).getValue(row));
+        assertEquals(Boolean.TRUE, columns.get(2).getValue(row));
+        assertEquals(Boolean.TRUE, columns.get(3).getValue(row));
+        assertEquals("memo", columns.get(4).getValue(row));
+        // idx, nickname, active(isActive), verified(getVerified) 의 getter 가 한번씩 호출됨
+        assertEquals(4, row.getterCalls);
+    }
+
+    @Test
+    void fallsBackToFieldHandleWithoutPublicGetter() {
+        HiddenRow row = new HiddenRow("podong", false);
+        List<ExcelModelMeta.Column> columns = ExcelModelMeta.of(HiddenRow.class).getColumns();
+
+        // public 이 아닌 클래스는 getter 를 람다로 만들지 않고 필드의 MethodHandle 로 읽음
+        assertEquals("podong", columns.get(0).getValue(row));
+        assertEquals(Boolean.FALSE, columns.get(1).getValue(row));
+        assertEquals(0, row.getterCalls);
+    }
+
+    @Test
+    void nullValuesAreReturnedAsIs() {
+        UserRow row = new UserRow(1, null, false, null, null);
+        List<ExcelModelMeta.Column> columns = ExcelModelMeta.of(UserRow.class).getColumns();
+
+        assertNull(columns.get(3).getValue(row));
+        assertNull(columns.get(4).getValue(row));
+    }
+
+    private static List<String> names(List<ExcelModelMeta.Column> columns) {
+        String[] names = new String[columns.size()];
+        for (int i = 0; i < names.length; i++) names[i] = columns.get(i).getName();
+        return Arrays.asList(names);
+    }
+
+    public static class BaseRow {
+        int getterCalls;
+
+        @ExcelColumn(headerName = "번호")
+        private final int idx;
+
+        BaseRow(int idx) {
+            this.idx = idx;
+        }
+
+        public int getIdx() {
+            getterCalls++;
+            return idx;
+        }
+    }
+
+    public static class UserRow extends BaseRow {
+        @ExcelColumn(headerName = "닉네임")
+        private final String nickname;
+        @ExcelColumn(headerName = "활성")
+        private final boolean active;
+        @ExcelColumn(headerName = "인증")
+        private final Boolean verified;
+        // getter 없음
+        @ExcelColumn(headerName = "메모")
+        private final String memo;
+
+        UserRow(int idx, String nickname, boolean active, Boolean verified, String memo) {
+            super(idx);
+            this.nickname = nickname;
+            this.active = active;
+            this.verified = verified;
+            this.memo = memo;
+        }
+
+        public String getNickname() {
+            getterCalls++;
+            return nickname == null ? null : nickname + "!";
+        }
+
+        public boolean isActive() {
+            getterCalls++;
+            return active;
+        }
+
+        public Boolean getVerified() {
+            getterCalls++;
+            return verified;
+        }
+    }
+
+    static class HiddenRow {
+        int getterCalls;
+
+        @ExcelColumn(headerName = "닉네임")
+        private final String nickname;
+        @ExcelColumn(headerName = "활성")
+        private final boolean active;
+
+        HiddenRow(String nickname, boolean active) {
+            this.nickname = nickname;
+            this.active = active;
+        }
+
+        public String getNickname() {
+            getterCalls++;
+            return nickname + "!";
+        }
+
+        public boolean isActive() {
+            getterCalls++;
+            return active;
+        }
+    }
+}
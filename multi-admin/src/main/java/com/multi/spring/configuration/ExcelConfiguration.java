@@ -0,0 +1,32 @@
+package com.multi.spring.configuration;
+
+import com.multi.properties.ExcelExport;
+import com.multi.properties.ProjectData;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 엑셀 생성용 스레드 풀 설정
+ */
+@Configuration
+public class ExcelConfiguration {
+    /**
+     * StreamingExcelFile.addSheets() 에서 시트를 병렬로 만드는 전용 풀, 스레드 수는 excelExport.sheetThreadCount 로 제한함
+     * 공용 풀(ForkJoinPool.commonPool())을 쓰면 비동기 호출 콜백, 병렬 스트림이 큰 시트 작업 뒤에서 기다리게 되므로 분리함
+     */
+    @Bean(name = "excelSheetExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService excelSheetExecutor(ProjectData projectData) {
+        ExcelExport excelExport = projectData.getExcelExport() == null ? new ExcelExport() : projectData.getExcelExport();
+        int threadCount = Math.max(excelExport.getSheetThreadCount(), 1);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "excel-sheet-" + threadIndex.incrementAndGet()));
+    }
+}
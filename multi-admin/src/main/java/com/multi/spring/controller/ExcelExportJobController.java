@@ -0,0 +1,151 @@
+package com.multi.spring.controller;
+
+import com.multi.spring.service.export.ExcelExportJob;
+import com.multi.spring.service.export.ExcelExportJobBO;
+import com.multi.spring.service.export.ExcelExportType;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.Principal;
+import java.util.List;
+
+@Api(tags = "엑셀 비동기 내보내기-API")
+@RestController
+@RequestMapping("/v1/api/export")
+@Slf4j
+public class ExcelExportJobController {
+    // 톰캣 NIO 커넥터의 sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    ExcelExportJobBO excelExportJobBO;
+
+    @ApiOperation(value = "엑셀 내보내기 작업 등록, 같은 조건의 작업이 있으면 그 작업을 돌려줌")
+    @RequestMapping(value = "/jobs", method = RequestMethod.POST, produces = "application/json; charset=utf8")
+    public ExcelExportJob submitJob(HttpServletRequest request,
+                                    @ApiParam(value = "엑셀 종류") @RequestParam ExcelExportType type,
+                                    @ApiParam(value = "대용량 다운로드 시 true, 행을 스트리밍으로 씀") @RequestParam(defaultValue = "false") boolean stream) {
+        return excelExportJobBO.submit(type, stream, getRequester(request));
+    }
+
+    // 유저별 동시 작업 수 제한에 사용하는 요청자, 클라이언트가 바꿀 수 있는 파라미터나 헤더(X-Forwarded-For 등)는 사용하지 않음
+    // 인증된 유저가 있으면 그 이름을, 없으면 접속한 주소를 사용함
+    private static String getRequester(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && !StringUtils.isBlank(principal.getName())) return principal.getName();
+        return request.getRemoteAddr();
+    }
+
+    @ApiOperation(value = "엑셀 내보내기 작업 목록")
+    @RequestMapping(value = "/jobs", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public List<ExcelExportJob> getJobs() {
+        return excelExportJobBO.getJobs();
+    }
+
+    @ApiOperation(value = "엑셀 내보내기 작업 상태")
+    @RequestMapping(value = "/jobs/{id}", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public ExcelExportJob getJob(@PathVariable String id) {
+        return excelExportJobBO.getJob(id);
+    }
+
+    @ApiOperation(value = "완료된 엑셀 파일 다운로드, Range 헤더로 이어받기 가능")
+    @RequestMapping(value = "/jobs/{id}/file", method = RequestMethod.GET)
+    public void downloadFile(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = excelExportJobBO.getFile(id);
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition", "attachment;filename=excelFile.xlsx");
+        response.setContentLengthLong(end - start + 1);
+
+        // 톰캣이 sendfile 을 지원하면 파일을 힙을 거치지 않고 커널에서 바로 소켓으로 보냄
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * "bytes=시작-끝", "bytes=시작-", "bytes=-마지막바이트수" 형식의 Range 를 [시작, 끝] 으로 바꿈
+     * 여러 구간을 요청하거나 형식이 다르면 빈 배열(전체 파일 전송), 파일 범위를 벗어나면 null(416)
+     */
+    private static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) return new long[0];
+
+        String[] bounds = range.substring("bytes=".length()).trim().split("-", -1);
+        if (bounds.length != 2) return new long[0];
+
+        try {
+            long start;
+            long end;
+            if (bounds[0].isEmpty()) {
+                long suffixLength = Long.parseLong(bounds[1]);
+                if (suffixLength <= 0) return null;
+                start = Math.max(length - suffixLength, 0);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(bounds[0]);
+                end = bounds[1].isEmpty() ? length - 1 : Math.min(Long.parseLong(bounds[1]), length - 1);
+            }
+            if (start >= length || start > end) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
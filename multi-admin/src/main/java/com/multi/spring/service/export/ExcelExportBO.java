@@ -0,0 +1,203 @@
+package com.multi.spring.service.export;
+
+import com.multi.domain.user.model.UserExcelDetailCol;
+import com.multi.domain.user.model.UserExcelField;
+import com.multi.spring.service.user.UserBO;
+import com.multi.util.excel.ExcelSheet;
+import com.multi.util.excel.ExcelWriteProgress;
+import com.multi.util.excel.PivotSource;
+import com.multi.util.excel.StreamingExcelFile;
+import com.podong.ExcelFile;
+import com.podong.gc.GcSheetExcelFile;
+import com.podong.poi.PoiSheetExcelFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.podong.poi.resource.ExcelCustomHeader.USER_COLUMN;
+
+/**
+ * 엑셀 파일 생성, 컨트롤러의 바로 다운로드와 비동기 내보내기 작업(ExcelExportJobBO)이 함께 사용함
+ */
+@Service
+public class ExcelExportBO {
+    // 유저 커스텀 엑셀의 헤더명과, 같은 위치의 데이터 키
+    private static final List<String> USER_CUSTOM_HEADER_NAMES = Arrays.asList("순위", "유저정보", "국가", "기기", "닉네임", "이메일", "유저 보유 금액");
+    private static final List<String> USER_CUSTOM_KEYS = Arrays.asList("rank", "userIdx", "countryName", "device", "nickname", "email", "amount");
+
+    @Autowired
+    UserBO userBO;
+    @Autowired
+    @Qualifier("excelSheetExecutor")
+    ExecutorService excelSheetExecutor;
+
+    public void write(ExcelExportType type, boolean stream, OutputStream out) throws IOException {
+        write(type, stream, out, new ExcelWriteProgress());
+    }
+    /**
+     * @param progress 스트리밍(stream true)으로 만드는 경우 쓴 행, 시트 수를 반영함
+     */
+    public void write(ExcelExportType type, boolean stream, OutputStream out, ExcelWriteProgress progress) throws IOException {
+        switch (type) {
+            case USER:
+                writeUserExcel(stream, out, progress);
+                break;
+            case USER_CUSTOM:
+                writeUserCustomExcel(stream, out, progress);
+                break;
+            case USER_SHEET:
+                writeUserSheetExcel(stream, out, progress);
+                break;
+            case PIVOT:
+                writePivotExcel(out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown excel export type " + type);
+        }
+    }
+
+    /**
+     * @param stream true 면 행을 스트리밍으로 쓰는 StreamingExcelFile 을 사용함 (대용량)
+     */
+    public void writeUserExcel(boolean stream, OutputStream out) throws IOException {
+        writeUserExcel(stream, out, new ExcelWriteProgress());
+    }
+    private void writeUserExcel(boolean stream, OutputStream out, ExcelWriteProgress progress) throws IOException {
+        if (stream) {
+            try (StreamingExcelFile excelFile = new StreamingExcelFile(progress)) {
+                excelFile.addSheet(userBO.getUserExcelDetailColStream(), UserExcelDetailCol.class);
+                excelFile.write(out);
+            }
+            return;
+        }
+
+        List<UserExcelDetailCol> userExcelDetailColList = userBO.getUserExcelDetailColList();
+
+        ExcelFile excelFile = new PoiSheetExcelFile(userExcelDetailColList, UserExcelDetailCol.class);
+        excelFile.write(out);
+    }
+
+    public void writeUserCustomExcel(boolean stream, OutputStream out) throws IOException {
+        writeUserCustomExcel(stream, out, new ExcelWriteProgress());
+    }
+    private void writeUserCustomExcel(boolean stream, OutputStream out, ExcelWriteProgress progress) throws IOException {
+        if (stream) {
+            try (StreamingExcelFile excelFile = new StreamingExcelFile(progress)) {
+                excelFile.addSheet(getUserCustomStream(), USER_CUSTOM_HEADER_NAMES, USER_CUSTOM_KEYS);
+                excelFile.write(out);
+            }
+            return;
+        }
+
+        // @ExcelColumn 을 사용하는게 아닌 직접 유저가 헤더키와 필드키를 넣고 생성하는 구조
+        List<Map<String, Object>> excelMetaList = getUserCustomStream().collect(Collectors.toList());
+        ExcelFile excelFile = new PoiSheetExcelFile(excelMetaList, USER_CUSTOM_HEADER_NAMES, USER_COLUMN);
+
+        excelFile.write(out);
+    }
+
+    public void writeUserSheetExcel(boolean stream, OutputStream out) throws IOException {
+        writeUserSheetExcel(stream, out, new ExcelWriteProgress());
+    }
+    private void writeUserSheetExcel(boolean stream, OutputStream out, ExcelWriteProgress progress) throws IOException {
+        if (stream) {
+            // 시트별 데이터 조회와 행 쓰기를 엑셀 전용 풀에서 병렬로 진행함
+            try (StreamingExcelFile excelFile = new StreamingExcelFile(progress)) {
+                excelFile.addSheets(Arrays.asList(
+                        ExcelSheet.of(UserExcelDetailCol.class, userBO::getUserExcelDetailColStream),
+                        ExcelSheet.of(UserExcelDetailCol.class, userBO::getUserExcelDetailColStream),
+                        ExcelSheet.of(USER_CUSTOM_HEADER_NAMES, USER_CUSTOM_KEYS, this::getUserCustomStream)), excelSheetExecutor);
+                excelFile.write(out);
+            }
+            return;
+        }
+
+        List<UserExcelDetailCol> userExcelDetailColList = userBO.getUserExcelDetailColList();
+
+        ExcelFile excelFile = new PoiSheetExcelFile(userExcelDetailColList, UserExcelDetailCol.class);
+
+        List<UserExcelDetailCol> excelDetailDtos = userBO.getUserExcelDetailColList();
+        excelFile.addSheet(excelDetailDtos, UserExcelDetailCol.class);
+
+        //유저가 직접 헤더키를 지정하는 경우
+        List<Map<String, Object>> excelCustomList = getUserCustomStream().collect(Collectors.toList());
+
+        excelFile.addSheet(excelCustomList, USER_CUSTOM_HEADER_NAMES, USER_COLUMN);
+
+        excelFile.write(out);
+    }
+
+    /**
+     * 원본 행은 컬럼 단위(PivotSource)로 모으고, 피벗의 페이지/행/열 필드 기준으로 데이터 필드를 미리 합산해서 넘김
+     * 피벗 엔진은 합산된 행만 받으므로 원본 행 수가 많아도 List<List<Object>> 로 박싱되는 양은 그룹 수만큼임
+     */
+    public void writePivotExcel(OutputStream out) throws IOException {
+        int rowCount = 100;
+        PivotSource source = new PivotSource(rowCount,
+                PivotSource.Type.INT, PivotSource.Type.STRING, PivotSource.Type.STRING, PivotSource.Type.STRING,
+                PivotSource.Type.STRING, PivotSource.Type.STRING, PivotSource.Type.INT);
+
+        for (int i=0; i < rowCount; i++) {
+            int row = source.addRow();
+            source.setInt(row, UserExcelField.RANK.getType(), i)
+                    .setString(row, UserExcelField.USER_IDX.getType(), "100000" + i)
+                    .setString(row, UserExcelField.COUNTRY.getType(), "한국")
+                    .setString(row, UserExcelField.DEVICE.getType(), "AOS")
+                    .setString(row, UserExcelField.NICKNAME.getType(), "nickname_"+ i)
+                    .setString(row, UserExcelField.EMAIL.getType(), "erqrk@.naver.com")
+                    .setInt(row, UserExcelField.AMOUNT.getType(), i + 1000);
+        }
+        ExcelFile excelFile = new GcSheetExcelFile(aggregate(source, UserExcelField.values()).toRows(), UserExcelField.class);
+
+        excelFile.write(out);
+    }
+
+    // 활성화된 페이지(1), 행(2), 열(5) 필드로 그룹을 묶고 데이터 필드(3)는 합산함, 그 외 필드는 피벗에 쓰이지 않으므로 버림
+    private PivotSource aggregate(PivotSource source, UserExcelField[] fields) {
+        List<Integer> groupColumns = new ArrayList<>();
+        List<Integer> sumColumns = new ArrayList<>();
+        for (UserExcelField field : fields) {
+            if (!field.isActive()) continue;
+
+            switch (field.getPivotFieldOrientation()) {
+                case 1:
+                case 2:
+                case 5:
+                    groupColumns.add(field.getType());
+                    break;
+                case 3:
+                    sumColumns.add(field.getType());
+                    break;
+                default:
+            }
+        }
+        return source.aggregate(groupColumns.stream().mapToInt(Integer::intValue).toArray(), sumColumns.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // 유저가 직접 헤더키를 지정하는 엑셀의 데이터, 행을 한 건씩 만들어줌
+    private Stream<Map<String, Object>> getUserCustomStream() {
+        return IntStream.range(1, 1000).mapToObj(i -> {
+            Map<String, Object> metaMap = new HashMap<>();
+            metaMap.put("rank", i);
+            metaMap.put("userIdx", "1000000" + i);
+            metaMap.put("countryName", "한국");
+            metaMap.put("device", "Aos");
+            metaMap.put("nickname", "나는엑셀테스트");
+            metaMap.put("email", "test"+i+"@naver.com");
+            metaMap.put("amount", i + 1000);
+            return metaMap;
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.multi.spring.service.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.multi.util.excel.ExcelWriteProgress;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 비동기 엑셀 내보내기 작업 하나의 상태
+ * id 는 내보내기 조건(종류, 파라미터)의 해시이므로 같은 조건의 요청은 같은 작업(같은 파일)을 공유함
+ * 스트리밍(stream true)으로 만드는 작업은 진행 중에도 지금까지 쓴 행, 시트 수(writtenRows, writtenSheets)를 알려줌
+ */
+@Getter
+public class ExcelExportJob {
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id;
+    private final ExcelExportType type;
+    private final boolean stream;
+    private final String userId;
+    @JsonIgnore
+    private final Path file;
+    private final long createdMillis = System.currentTimeMillis();
+    @JsonIgnore
+    private final ExcelWriteProgress progress = new ExcelWriteProgress();
+
+    private volatile State state = State.QUEUED;
+    private volatile long startedMillis;
+    private volatile long finishedMillis;
+    private volatile long fileSize;
+    private volatile String errorMessage;
+
+    public ExcelExportJob(String id, ExcelExportType type, boolean stream, String userId, Path file) {
+        this.id = id;
+        this.type = type;
+        this.stream = stream;
+        this.userId = userId;
+        this.file = file;
+    }
+
+    void start() {
+        startedMillis = System.currentTimeMillis();
+        state = State.RUNNING;
+    }
+
+    void done(long fileSize) {
+        this.fileSize = fileSize;
+        finishedMillis = System.currentTimeMillis();
+        state = State.DONE;
+    }
+
+    void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        finishedMillis = System.currentTimeMillis();
+        state = State.FAILED;
+    }
+
+    /**
+     * 대기 또는 진행 중인 경우 지금까지 걸린 시간, 끝났다면 전체 소요 시간
+     */
+    public long getElapsedMillis() {
+        long end = finishedMillis > 0 ? finishedMillis : System.currentTimeMillis();
+        return end - createdMillis;
+    }
+
+    public long getWrittenRows() {
+        return progress.getWrittenRows();
+    }
+
+    public int getWrittenSheets() {
+        return progress.getWrittenSheets();
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.DONE || state == State.FAILED;
+    }
+}
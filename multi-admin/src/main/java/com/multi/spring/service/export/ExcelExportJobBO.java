@@ -0,0 +1,207 @@
+package com.multi.spring.service.export;
+
+import com.multi.common.core.exception.CommonException;
+import com.multi.properties.ExcelExport;
+import com.multi.properties.ProjectData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NOT_EXISTS;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_PROCESS_FAILED;
+
+/**
+ * 비동기 엑셀 내보내기 작업 관리
+ *
+ * 큰 엑셀을 톰캣 요청 스레드에서 만들면 동시에 몇 건만 들어와도 어드민 서버의 스레드가 모자라므로
+ *  - 요청은 작업을 크기가 정해진 전용 스레드 풀(threadCount, queueCapacity)에 넣고 바로 작업 정보를 돌려줌, 클라이언트는 상태를 조회해서 기다림
+ *  - 한 유저가 동시에 진행할 수 있는 작업 수를 maxJobsPerUser 로 제한함
+ *  - 완성된 파일은 로컬 디스크에 저장하고, 같은 조건의 요청은 작업 id(조건의 해시)가 같으므로 새로 만들지 않고 기존 작업, 파일을 공유함
+ *  - 완료 후 resultTtlMillis 가 지난 작업과 파일은 지움
+ */
+@Slf4j
+@Service
+public class ExcelExportJobBO {
+    // 만료된 작업을 정리하는 주기
+    private static final long CLEANUP_INTERVAL_MILLIS = 1000 * 60;
+    // 이 클래스가 만드는 파일, 완성된 파일은 <작업 id>.xlsx 이고 쓰는 중에는 <작업 id>.xlsx.part
+    private static final String FILE_SUFFIX = ".xlsx";
+    private static final String PART_FILE_SUFFIX = FILE_SUFFIX + ".part";
+
+    @Autowired
+    ProjectData projectData;
+    @Autowired
+    ExcelExportBO excelExportBO;
+
+    private ExcelExport excelExport;
+    private Path directory;
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService cleaner;
+
+    private final ConcurrentMap<String, ExcelExportJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> activeJobsByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        excelExport = projectData.getExcelExport() == null ? new ExcelExport() : projectData.getExcelExport();
+        directory = StringUtils.isBlank(excelExport.getDirectory())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "excel-export")
+                : Paths.get(excelExport.getDirectory());
+        Files.createDirectories(directory);
+        // 작업 정보는 메모리에만 있으므로 재시작 전에 만들어진 파일은 지움 (디렉토리의 다른 파일은 건드리지 않음)
+        deleteExportFiles(directory);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(excelExport.getThreadCount(), excelExport.getThreadCount(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(excelExport.getQueueCapacity(), 1)),
+                runnable -> new Thread(runnable, "excel-export-" + threadIndex.incrementAndGet()));
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::evictExpiredJobs, CLEANUP_INTERVAL_MILLIS, CLEANUP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 작업을 등록함, 같은 조건의 작업이 대기/진행 중이거나 완료된 파일이 남아있다면 그 작업을 그대로 돌려줌
+     */
+    public ExcelExportJob submit(ExcelExportType type, boolean stream, String userId) {
+        String id = DigestUtils.sha256Hex(type.name() + "?stream=" + stream);
+
+        synchronized (jobs) {
+            ExcelExportJob existing = jobs.get(id);
+            if (existing != null && existing.getState() != ExcelExportJob.State.FAILED) return existing;
+
+            AtomicInteger activeJobs = activeJobsByUser.computeIfAbsent(userId, key -> new AtomicInteger());
+            if (activeJobs.get() >= excelExport.getMaxJobsPerUser()) {
+                throw new CommonException(ERROR_SYSTEM, ERROR_PROCESS_FAILED, "Too many export jobs in progress for user " + userId + " (max " + excelExport.getMaxJobsPerUser() + ")");
+            }
+
+            ExcelExportJob job = new ExcelExportJob(id, type, stream, userId, directory.resolve(id + FILE_SUFFIX));
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                throw new CommonException(ERROR_SYSTEM, ERROR_PROCESS_FAILED, "Export queue is full, try again later");
+            }
+            activeJobs.incrementAndGet();
+            jobs.put(id, job);
+            return job;
+        }
+    }
+
+    public ExcelExportJob getJob(String id) {
+        ExcelExportJob job = jobs.get(id);
+        if (job == null) throw new CommonException(ERROR_SYSTEM, ERROR_NOT_EXISTS, "Export job not found: " + id);
+        return job;
+    }
+
+    /**
+     * 완료된 작업의 파일, 아직 완료되지 않았다면 예외
+     */
+    public Path getFile(String id) {
+        ExcelExportJob job = getJob(id);
+        if (job.getState() != ExcelExportJob.State.DONE || !Files.exists(job.getFile())) {
+            throw new CommonException(ERROR_SYSTEM, ERROR_NOT_EXISTS, "Export file is not ready: " + id + " (" + job.getState() + ")");
+        }
+        return job.getFile();
+    }
+
+    public List<ExcelExportJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    private void run(ExcelExportJob job) {
+        job.start();
+        // 다 만들어진 파일만 보이도록 임시 파일에 쓴 뒤 옮김
+        Path partFile = directory.resolve(job.getId() + PART_FILE_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                excelExportBO.write(job.getType(), job.isStream(), out, job.getProgress());
+            }
+            Files.move(partFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.done(Files.size(job.getFile()));
+            log.info("Excel export job {} ({}) done in {}ms, {} sheets, {} rows, {} bytes", job.getId(), job.getType(), job.getElapsedMillis(),
+                    job.getWrittenSheets(), job.getWrittenRows(), job.getFileSize());
+        } catch (Exception e) {
+            log.error("Excel export job " + job.getId() + " (" + job.getType() + ") failed", e);
+            deleteQuietly(partFile);
+            job.fail(e.getMessage());
+        } finally {
+            activeJobsByUser.get(job.getUserId()).decrementAndGet();
+        }
+    }
+
+    private void evictExpiredJobs() {
+        long now = System.currentTimeMillis();
+        for (ExcelExportJob job : jobs.values()) {
+            if (job.isFinished() && now - job.getFinishedMillis() > excelExport.getResultTtlMillis()) {
+                // 조회 중인 id 로 새 작업이 등록되는 것과 겹치지 않도록 submit 과 같은 락을 잡음
+                synchronized (jobs) {
+                    if (jobs.remove(job.getId(), job)) deleteQuietly(job.getFile());
+                }
+            }
+        }
+    }
+
+    private static void deleteExportFiles(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, ExcelExportJobBO::isExportFile)) {
+            for (Path file : files) deleteQuietly(file);
+        }
+    }
+
+    // 작업 id(sha256 hex) 이름으로 만든 파일인지, 같은 디렉토리를 다른 용도로 함께 쓰더라도 다른 파일은 지우지 않음
+    private static boolean isExportFile(Path file) {
+        if (!Files.isRegularFile(file)) return false;
+
+        String name = file.getFileName().toString();
+        String id;
+        if (name.endsWith(PART_FILE_SUFFIX)) {
+            id = name.substring(0, name.length() - PART_FILE_SUFFIX.length());
+        } else if (name.endsWith(FILE_SUFFIX)) {
+            id = name.substring(0, name.length() - FILE_SUFFIX.length());
+        } else {
+            return false;
+        }
+        return id.length() == 64 && id.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.multi.spring.service.export;
+
+/**
+ * 비동기로 내보낼 수 있는 엑셀 종류, 각각 같은 이름의 다운로드 API 와 같은 파일을 만듦
+ *  - USER: /v1/api/poi/excel
+ *  - USER_CUSTOM: /v1/api/poi/excel/custom
+ *  - USER_SHEET: /v1/api/poi/excel/custom/sheet
+ *  - PIVOT: /v1/api/pivot/excel
+ */
+public enum ExcelExportType {
+    USER, USER_CUSTOM, USER_SHEET, PIVOT
+}
@@ -1,12 +1,13 @@
 package com.multi.spring;
 
+import com.multi.auth.annotation.EnableAccessCheck;
 import com.multi.process.rest.annotation.EnableStub;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 
 @SpringBootApplication
-/*@EnableAccessCheck*/
+@EnableAccessCheck
 @EnableStub
 public class ApiApplication {
 
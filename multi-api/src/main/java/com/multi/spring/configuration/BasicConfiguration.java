@@ -21,7 +21,8 @@ import java.io.InputStream;
         basePackages = {
                 "com.multi.spring",
                 "com.multi.process.rest",
-                "com.multi.domain"
+                "com.multi.domain",
+                "com.multi.redis"
         }
 )
 public class BasicConfiguration {
@@ -0,0 +1,29 @@
+package com.multi.spring.controller.metrics;
+
+import com.multi.redis.cache.TwoTierCacheManager;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 2단계 캐시(@Cacheable) 상태를 조회하는 엔드포인트
+ */
+@Api(tags = "캐시 지표-API")
+@RestController
+@RequestMapping("/v1/api/metrics")
+public class CacheMetricsController {
+    @Autowired
+    TwoTierCacheManager cacheManager;
+
+    @ApiOperation(value = "캐시별 near 캐시 크기, 적중(hit)/미스(miss)/동시 요청 합류(coalesced)/백그라운드 갱신(refresh) 수")
+    @RequestMapping(value = "/cache", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public List<Map<String, Object>> getCacheMetrics() {
+        return cacheManager.snapshot();
+    }
+}
@@ -4,23 +4,37 @@ package com.multi.spring.service.user;
 import com.multi.domain.user.model.User;
 import com.multi.domain.user.model.UserExcelDetailCol;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class UserBO {
+    /**
+     * 2단계 캐시(common-redis)를 사용하는 모듈에서는 userIdx 별로 캐싱됨, 유저 정보가 바뀌면 @CacheEvict("userInfo") 로 지워야 함
+     * sync = true 이므로 만료 시점에 동시에 들어온 요청들이 한꺼번에 다시 불러오지 않음
+     */
+    @Cacheable(value = "userInfo", sync = true)
     public User userInfo(int userIdx) {
         User user = new User();
         return user;
     }
 
     public List<UserExcelDetailCol> getUserExcelDetailColList() {
+        return getUserExcelDetailColStream().collect(Collectors.toList());
+    }
+
+    /**
+     * 엑셀 다운로드용 유저 목록을 한 건씩 만들어주는 스트림, 대용량 다운로드 시 전체 리스트를 메모리에 올리지 않기 위함
+     */
+    public Stream<UserExcelDetailCol> getUserExcelDetailColStream() {
         //DB 연동하지 않았으니 임시로 처리하자.
-        List<UserExcelDetailCol> userExcelDetailColList = new ArrayList<>();
-        for (int i=0; i < 100; i++) {
+        return IntStream.range(0, 100).mapToObj(i -> {
             UserExcelDetailCol userExcelDetailCol = new UserExcelDetailCol();
             userExcelDetailCol.setUserIdx("100000" + i);
             userExcelDetailCol.setEmail("testExcel" +i+ "@co.kr");
@@ -28,9 +42,8 @@ public class UserBO {
             userExcelDetailCol.setRank(i);
             userExcelDetailCol.setCountryName("한국");
             userExcelDetailCol.setNickname("USER_" +i);
-            userExcelDetailColList.add(userExcelDetailCol);
-        }
-        return userExcelDetailColList;
+            return userExcelDetailCol;
+        });
     }
 
 }
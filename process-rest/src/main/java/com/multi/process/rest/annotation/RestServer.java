@@ -6,7 +6,11 @@ public enum RestServer {
 
     // 프로세스 유저
     GOOGLE_AUTH("google-auth"),
-    KAKAO_AUTH("kakao-auth");
+    KAKAO_AUTH("kakao-auth"),
+
+    // 토큰 서명 키(JWKS)
+    GOOGLE_JWKS("google-jwks"),
+    KAKAO_JWKS("kakao-jwks");
 
 
     @Getter private final String key;
@@ -1,5 +1,6 @@
 package com.multi.process.rest.aop;
 
+import com.multi.common.core.exception.BusinessException;
 import com.multi.common.core.exception.CommonException;
 import com.multi.common.core.model.ResultInfo;
 import lombok.extern.slf4j.Slf4j;
@@ -41,7 +42,8 @@ public class ResponseProcess implements ResponseBodyAdvice<Object> {
         if (e instanceof CommonException) {
             return setResultInfo((CommonException) e);
         } else {
-            return setResultInfo(new CommonException(e));
+            // 응답을 만들기 위한 용도이므로 스택트레이스는 만들지 않음 (원래 예외의 스택트레이스는 cause 에 남아있음)
+            return setResultInfo(new BusinessException(e));
         }
     }
 
@@ -0,0 +1,462 @@
+package com.multi.process.rest.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.common.core.exception.CommonException;
+import com.multi.process.rest.annotation.RestServer;
+import com.multi.properties.ProjectData;
+import com.multi.properties.RestClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.AsyncByteConsumer;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_INTERNAL_SERVER;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NETWORK;
+
+/**
+ * RestServer 별 커넥션 풀을 갖는 NIO 기반 비동기 HTTP 클라이언트 (Apache HttpAsyncClient)
+ *
+ * 요청을 보낸 스레드는 응답을 기다리지 않고 CompletableFuture 를 바로 돌려받으므로
+ * 여러 서버(GOOGLE_AUTH, KAKAO_AUTH 등)를 동시에 호출해도 호출 하나당 서블릿 스레드를 하나씩 잡아두지 않음
+ *  - 서버별로 클라이언트(커넥션 풀, I/O 스레드)를 분리하므로 한 서버가 느려져도 다른 서버의 커넥션을 잡아먹지 않음
+ *  - 클라이언트는 서버가 처음 호출될 때 만들어짐
+ *  - 4xx, 5xx 응답은 RestTemplate 과 동일하게 HttpClientErrorException, HttpServerErrorException 으로 실패 처리됨
+ *  - 연결 실패, 타임아웃 등은 CommonException(ERROR_NETWORK) 로 실패 처리됨
+ *  - 서버별 RestServerGuard 로 동시 호출 수를 제한하고, 서킷이 열린 서버는 호출하지 않고 CommonException(ERROR_INTERNAL_SERVER_DEAD) 로 바로 실패 처리함
+ *
+ * CompletableFuture 는 HttpAsyncClient 의 I/O 스레드에서 완료되므로, 후속 작업에서 블로킹 호출을 할 경우 thenApplyAsync 등으로 스레드를 넘겨야 함
+ */
+@Slf4j
+public class AsyncRestClient implements Closeable {
+    // 스트리밍 응답을 옮겨 담을 때 사용하는 버퍼 크기
+    private static final int STREAM_BUFFER_SIZE = 8 * 1024;
+    // 스트리밍 응답이 에러일 경우 예외에 담을 바디의 최대 크기
+    private static final int ERROR_BODY_LIMIT = 8 * 1024;
+
+    private final RestEndpoints restEndpoints;
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final RestServerGuards guards;
+    private final ConcurrentMap<RestServer, CloseableHttpAsyncClient> clients = new ConcurrentHashMap<>();
+
+    public AsyncRestClient(ProjectData projectData, RestEndpoints restEndpoints, ObjectMapper objectMapper, RestServerGuards guards) {
+        this.restEndpoints = restEndpoints;
+        this.restClient = projectData.getRestClient() == null ? new RestClient() : projectData.getRestClient();
+        this.objectMapper = objectMapper;
+        this.guards = guards;
+    }
+
+    /**
+     * 응답 바디를 responseType 으로 역직렬화해서 돌려줌
+     *
+     * @param headers 기본 헤더(Cache-Control, Pragma, Content-Type) 외에 추가하거나 덮어쓸 헤더, 없으면 null
+     */
+    public <R> CompletableFuture<ResponseEntity<R>> exchange(RestServer server, String url, HttpMethod httpMethod, Object body,
+                                                             HttpHeaders headers, Class<R> responseType) {
+        CompletableFuture<ResponseEntity<R>> future = new CompletableFuture<>();
+        try {
+            HttpUriRequest request = createRequest(server, url, httpMethod, body, headers);
+            execute(server, request, HttpAsyncMethods.createConsumer(), future, response -> toResponseEntity(response, responseType));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 같은 서버로 보내는 여러 요청을 최대 batchParallelism 개씩 동시에 보내고, 결과를 requests 와 같은 순서로 돌려줌
+     * 서버별 커넥션 풀의 keep-alive 커넥션을 재사용하므로, N번 순차 호출 대신 약 N / batchParallelism 번의 왕복 시간이 걸림
+     *
+     * 각 요청의 실패는 해당 RestBatchResult 에 CommonException 으로 담기며, 반환된 future 자체는 실패하지 않음
+     * 동시에 보내는 요청 수는 서버의 동시 호출 수 제한(maxConcurrentCalls)을 넘지 않음
+     */
+    public <R> CompletableFuture<List<RestBatchResult<R>>> exchangeAll(RestServer server, List<RestBatchRequest> requests, Class<R> responseType) {
+        BatchState<R> state = new BatchState<>(server, requests, responseType);
+        if (requests.isEmpty()) {
+            state.future.complete(new ArrayList<>());
+            return state.future;
+        }
+
+        int parallelism = Math.max(restClient.getBatchParallelism(), 1);
+        parallelism = Math.min(parallelism, guards.get(server).getMaxConcurrentCalls());
+        parallelism = Math.min(parallelism, requests.size());
+        for (int i = 0; i < parallelism; i++) sendNext(state);
+
+        return state.future;
+    }
+
+    // 요청 하나가 끝나면 다음 요청을 보내는 방식으로, 항상 parallelism 개의 요청만 진행 중이도록 함
+    private <R> void sendNext(BatchState<R> state) {
+        while (true) {
+            int index = state.cursor.getAndIncrement();
+            if (index >= state.requests.size()) return;
+
+            RestBatchRequest request = state.requests.get(index);
+            CompletableFuture<ResponseEntity<R>> call = exchange(state.server, request.getUrl(), request.getMethod(),
+                    request.getBody(), request.getHeaders(), state.responseType);
+
+            // 서킷이 열려있는 등 바로 실패한 요청은 재귀 없이 이어서 처리함
+            if (call.isDone()) {
+                state.complete(index, call);
+                continue;
+            }
+
+            // call 은 I/O 스레드에서 완료되는데, 다음 요청의 guard.acquire() 는 벌크헤드 자리가 날 때까지 bulkheadWaitMillis 만큼 기다릴 수 있으므로
+            // I/O 스레드(리액터)를 막지 않도록 다음 요청은 다른 스레드에서 보냄
+            call.whenCompleteAsync((response, throwable) -> {
+                state.complete(index, call);
+                sendNext(state);
+            }, ForkJoinPool.commonPool());
+            return;
+        }
+    }
+
+    private static CommonException toCommonException(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) throwable = throwable.getCause();
+
+        if (throwable instanceof CommonException) return (CommonException) throwable;
+        if (throwable instanceof HttpServerErrorException) return new CommonException(ERROR_SYSTEM, ERROR_INTERNAL_SERVER, throwable);
+        return new CommonException(throwable);
+    }
+
+    /**
+     * 응답 바디를 메모리에 모으지 않고, 받는 대로 고정 크기 버퍼를 거쳐 target 으로 흘려보냄
+     * 대용량 파일, 리포트 등을 그대로 전달할 때 사용하며, 결과의 바디는 target 으로 쓰여진 바이트 수임
+     *
+     * target 으로의 쓰기는 I/O 스레드에서 이뤄지므로 target 은 파일처럼 빠르게 쓸 수 있는 대상이어야 함
+     */
+    public CompletableFuture<ResponseEntity<Long>> download(RestServer server, String url, HttpHeaders headers, WritableByteChannel target) {
+        CompletableFuture<ResponseEntity<Long>> future = new CompletableFuture<>();
+        try {
+            HttpUriRequest request = createRequest(server, url, HttpMethod.GET, null, headers);
+            execute(server, request, new ChannelResponseConsumer(target), future, result -> result);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public CompletableFuture<ResponseEntity<Long>> download(RestServer server, String url, HttpHeaders headers, OutputStream target) {
+        return download(server, url, headers, Channels.newChannel(target));
+    }
+
+    private <C, R> void execute(RestServer server, HttpUriRequest request, HttpAsyncResponseConsumer<C> consumer,
+                                CompletableFuture<R> future, ResultConverter<C, R> converter) {
+        // 서킷이 열려있거나 동시 호출 수가 가득 찼다면 요청을 보내지 않고 바로 실패함
+        RestServerGuard guard = guards.get(server);
+        long permit = guard.acquire();
+
+        try {
+            getClient(server).execute(HttpAsyncMethods.create(request), consumer, new FutureCallback<C>() {
+                @Override
+                public void completed(C result) {
+                    R value;
+                    try {
+                        value = converter.convert(result);
+                    } catch (RestClientResponseException e) {
+                        onFailed(e);
+                        return;
+                    } catch (Exception e) {
+                        // 응답은 받았고 이쪽에서 읽지 못한 것이므로(역직렬화 실패 등) 서버의 실패로 기록하지 않음
+                        guard.release(permit);
+                        future.completeExceptionally(new CommonException(e));
+                        return;
+                    }
+
+                    guard.onSuccess(permit);
+                    future.complete(value);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    onFailed(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    guard.release(permit);
+                    future.cancel(false);
+                }
+
+                private void onFailed(Exception e) {
+                    // 4xx 응답은 호출하는 쪽의 문제이므로 서킷 브레이커에 실패로 기록하지 않음
+                    boolean isResponseException = e instanceof RestClientResponseException;
+                    if (!isResponseException || e instanceof HttpServerErrorException) {
+                        guard.onFailure(permit);
+                    } else {
+                        guard.onSuccess(permit);
+                    }
+
+                    // 에러 응답은 그대로 넘기고, 연결 실패 및 타임아웃 등은 네트워크 에러로 감싸줌
+                    future.completeExceptionally(isResponseException ? e : new CommonException(ERROR_SYSTEM, ERROR_NETWORK, e));
+                }
+            });
+        } catch (RuntimeException e) {
+            // 요청을 보내기 전 클라이언트 쪽 에러이므로 서킷 브레이커에 실패로 기록하지 않고 permit 만 돌려줌
+            guard.release(permit);
+            throw e;
+        }
+    }
+
+    private HttpUriRequest createRequest(RestServer server, String url, HttpMethod httpMethod, Object body, HttpHeaders headers) throws IOException {
+        RestEndpoint endpoint = restEndpoints.get(server);
+        RequestBuilder builder = RequestBuilder.create(httpMethod.name())
+                .setUri(endpoint.resolve(url))
+                .setConfig(endpoint.getRequestConfig());
+        for (Map.Entry<String, List<String>> entry : endpoint.getDefaultHeaders().entrySet()) {
+            for (String value : entry.getValue()) {
+                builder.addHeader(entry.getKey(), value);
+            }
+        }
+
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                builder.removeHeaders(entry.getKey());
+                for (String value : entry.getValue()) {
+                    builder.addHeader(entry.getKey(), value);
+                }
+            }
+        }
+
+        if (body != null) {
+            byte[] content;
+            if (body instanceof byte[]) {
+                content = (byte[]) body;
+            } else if (body instanceof String) {
+                content = ((String) body).getBytes(StandardCharsets.UTF_8);
+            } else {
+                content = objectMapper.writeValueAsBytes(body);
+            }
+            builder.setEntity(new NByteArrayEntity(content));
+        }
+
+        return builder.build();
+    }
+
+    private <R> ResponseEntity<R> toResponseEntity(HttpResponse response, Class<R> responseType) throws IOException {
+        int status = response.getStatusLine().getStatusCode();
+        HttpHeaders headers = toHttpHeaders(response);
+        byte[] content = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+
+        if (status >= 400) throw createResponseException(response, headers, content);
+
+        return ResponseEntity.status(status).headers(headers).body(readBody(content, headers, responseType));
+    }
+
+    private <R> R readBody(byte[] content, HttpHeaders headers, Class<R> responseType) throws IOException {
+        if (content.length == 0 || responseType == null || responseType == Void.class) return null;
+
+        if (responseType == byte[].class) return responseType.cast(content);
+        if (responseType == String.class) return responseType.cast(new String(content, getCharset(headers)));
+
+        return objectMapper.readValue(content, responseType);
+    }
+
+    private static HttpHeaders toHttpHeaders(HttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        return headers;
+    }
+
+    private static Charset getCharset(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType == null || contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+    }
+
+    // RestTemplate 의 DefaultResponseErrorHandler 와 같은 예외를 만들어줌
+    private static RestClientResponseException createResponseException(HttpResponse response, HttpHeaders headers, byte[] content) {
+        int status = response.getStatusLine().getStatusCode();
+        String statusText = response.getStatusLine().getReasonPhrase();
+        Charset charset = getCharset(headers);
+
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        if (httpStatus == null) return new UnknownHttpStatusCodeException(status, statusText, headers, content, charset);
+        if (httpStatus.is4xxClientError()) return HttpClientErrorException.create(httpStatus, statusText, headers, content, charset);
+        return HttpServerErrorException.create(httpStatus, statusText, headers, content, charset);
+    }
+
+    private CloseableHttpAsyncClient getClient(RestServer server) {
+        CloseableHttpAsyncClient client = clients.get(server);
+        return client != null ? client : clients.computeIfAbsent(server, this::createClient);
+    }
+
+    private CloseableHttpAsyncClient createClient(RestServer server) {
+        // 커넥션 풀 크기는 클라이언트를 만들 때만 적용되고, 타임아웃은 요청마다 RestEndpoint 의 설정을 사용함
+        RestEndpoint endpoint = restEndpoints.get(server);
+        int maxConnTotal = endpoint.getMaxConnTotal();
+        int maxConnPerRoute = endpoint.getMaxConnPerRoute();
+        int connectTimeout = endpoint.getRequestConfig().getConnectTimeout();
+        int readTimeout = endpoint.getRequestConfig().getSocketTimeout();
+        int ioThreadCount = restClient.getIoThreadCount() > 0 ? restClient.getIoThreadCount() : Runtime.getRuntime().availableProcessors();
+        long timeToLive = restClient.getConnectionTimeToLiveMillis();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setMaxConnTotal(maxConnTotal)     //연결을 유지할 최대 숫자
+                .setMaxConnPerRoute(maxConnPerRoute)   //특정 경로당 최대 숫자
+                .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(ioThreadCount)
+                        .setConnectTimeout(connectTimeout)
+                        .setSoTimeout(readTimeout)
+                        .build())
+                .setDefaultRequestConfig(endpoint.getRequestConfig())
+                // keep - alive, 서버가 더 길게 허용하더라도 timeToLive 이상 재사용하지 않음
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive < 0 ? timeToLive : Math.min(keepAlive, timeToLive);
+                })
+                .build();
+        client.start();
+
+        log.info("Async rest client started for {} (maxConnTotal {}, maxConnPerRoute {}, ioThreads {})", server.getKey(), maxConnTotal, maxConnPerRoute, ioThreadCount);
+        return client;
+    }
+
+    /**
+     * 모든 서버의 클라이언트를 종료함, 스프링 빈으로 등록된 경우 컨텍스트 종료 시 자동으로 호출됨
+     */
+    @Override
+    public void close() {
+        for (Map.Entry<RestServer, CloseableHttpAsyncClient> entry : clients.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException e) {
+                log.error("Failed to close async rest client for " + entry.getKey().getKey(), e);
+            }
+        }
+        clients.clear();
+    }
+
+    @FunctionalInterface
+    private interface ResultConverter<C, R> {
+        R convert(C result) throws Exception;
+    }
+
+    // exchangeAll() 의 진행 상태
+    private static class BatchState<R> {
+        private final RestServer server;
+        private final List<RestBatchRequest> requests;
+        private final Class<R> responseType;
+        private final AtomicReferenceArray<RestBatchResult<R>> results;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<RestBatchResult<R>>> future = new CompletableFuture<>();
+
+        private BatchState(RestServer server, List<RestBatchRequest> requests, Class<R> responseType) {
+            this.server = server;
+            this.requests = requests;
+            this.responseType = responseType;
+            this.results = new AtomicReferenceArray<>(requests.size());
+            this.remaining = new AtomicInteger(requests.size());
+        }
+
+        private void complete(int index, CompletableFuture<ResponseEntity<R>> call) {
+            RestBatchResult<R> result;
+            try {
+                result = RestBatchResult.success(call.join());
+            } catch (CancellationException | CompletionException e) {
+                result = RestBatchResult.failure(toCommonException(e));
+            }
+            results.set(index, result);
+
+            if (remaining.decrementAndGet() == 0) {
+                List<RestBatchResult<R>> list = new ArrayList<>(results.length());
+                for (int i = 0; i < results.length(); i++) list.add(results.get(i));
+                future.complete(list);
+            }
+        }
+    }
+
+    // 응답 바디를 고정 크기 버퍼 단위로 받아서 바로 채널에 씀
+    private static class ChannelResponseConsumer extends AsyncByteConsumer<ResponseEntity<Long>> {
+        private final WritableByteChannel target;
+        private HttpResponse response;
+        private ByteArrayOutputStream errorBody;
+        private long byteCount = 0;
+
+        private ChannelResponseConsumer(WritableByteChannel target) {
+            super(STREAM_BUFFER_SIZE);
+            this.target = target;
+        }
+
+        @Override
+        protected void onResponseReceived(HttpResponse response) {
+            this.response = response;
+
+            // 에러 응답의 바디는 target 에 쓰지 않고 예외에 담기 위해 앞부분만 모아둠
+            if (response.getStatusLine().getStatusCode() >= 400) errorBody = new ByteArrayOutputStream();
+        }
+
+        @Override
+        protected void onByteReceived(ByteBuffer buffer, IOControl ioControl) throws IOException {
+            if (errorBody != null) {
+                int length = Math.min(buffer.remaining(), ERROR_BODY_LIMIT - errorBody.size());
+                if (length > 0) errorBody.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                buffer.position(buffer.limit());
+                return;
+            }
+
+            while (buffer.hasRemaining()) {
+                byteCount += target.write(buffer);
+            }
+        }
+
+        @Override
+        protected ResponseEntity<Long> buildResult(HttpContext context) {
+            HttpHeaders headers = toHttpHeaders(response);
+            if (errorBody != null) throw createResponseException(response, headers, errorBody.toByteArray());
+
+            return ResponseEntity.status(response.getStatusLine().getStatusCode()).headers(headers).body(byteCount);
+        }
+
+        @Override
+        protected void releaseResources() {
+            errorBody = null;
+        }
+    }
+}
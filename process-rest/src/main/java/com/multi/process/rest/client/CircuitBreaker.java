@@ -0,0 +1,149 @@
+package com.multi.process.rest.client;
+
+/**
+ * 호출 횟수 기반의 서킷 브레이커
+ *
+ *  - CLOSED: 모든 호출을 허용하며, 최근 slidingWindowSize 번의 호출 결과를 링버퍼에 기록함
+ *            minimumCalls 번 이상 호출된 상태에서 실패율이 failureRateThreshold(%) 이상이면 OPEN 으로 전환
+ *  - OPEN: openStateMillis 동안 모든 호출을 거부함, 시간이 지나면 HALF_OPEN 으로 전환
+ *  - HALF_OPEN: halfOpenProbeCalls 개의 호출만 허용해서 서버 상태를 확인함
+ *               모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN 으로 전환
+ *
+ * 상태 변경은 서버 단위로 동기화되며, 호출 당 몇 번의 비교와 대입뿐이라 경합 비용이 작음
+ * 호출 결과는 허용받을 때의 permit 으로 기록하며, 그 사이에 상태가 바뀌었다면 무시함
+ * (CLOSED 에서 허용된 느린 호출이 HALF_OPEN 의 탐색 결과로 세어지거나, 탐색 기회를 돌려주지 않도록)
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // tryAcquirePermission() 이 호출을 거부할 때 돌려주는 값
+    public static final long NO_PERMISSION = -1;
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openStateMillis;
+    private final int halfOpenProbeCalls;
+
+    // 최근 호출 결과 (true 면 실패)
+    private final boolean[] outcomes;
+    private int outcomeIndex = 0;
+    private int outcomeCount = 0;
+    private int failureCount = 0;
+
+    private State state = State.CLOSED;
+    // 상태가 바뀔 때마다 증가함, permit 은 허용받을 때의 값
+    private long generation = 0;
+    private long openedMillis = 0;
+    private int permittedProbeCalls = 0;
+    private int succeededProbeCalls = 0;
+    private long openCount = 0;
+
+    public CircuitBreaker(int slidingWindowSize, int minimumCalls, int failureRateThreshold, long openStateMillis, int halfOpenProbeCalls) {
+        this.outcomes = new boolean[Math.max(slidingWindowSize, 1)];
+        this.minimumCalls = Math.min(Math.max(minimumCalls, 1), outcomes.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openStateMillis = openStateMillis;
+        this.halfOpenProbeCalls = Math.max(halfOpenProbeCalls, 1);
+    }
+
+    /**
+     * 호출해도 되는지 여부, 허용하면 permit(0 이상), 거부하면 NO_PERMISSION
+     * permit 을 받았다면 호출 후 반드시 그 permit 으로 onSuccess(), onFailure(), releasePermission() 중 하나를 호출해야 함
+     */
+    public synchronized long tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return generation;
+            case OPEN:
+                if (System.currentTimeMillis() - openedMillis < openStateMillis) return NO_PERMISSION;
+
+                transition(State.HALF_OPEN);
+                permittedProbeCalls = 0;
+                succeededProbeCalls = 0;
+                // fall through
+            case HALF_OPEN:
+            default:
+                if (permittedProbeCalls >= halfOpenProbeCalls) return NO_PERMISSION;
+
+                permittedProbeCalls++;
+                return generation;
+        }
+    }
+
+    /**
+     * 허용받은 호출을 실제로 하지 않았을 때 호출함, 같은 HALF_OPEN 상태에서 받은 permit 이라면 탐색 기회를 돌려줌
+     */
+    public synchronized void releasePermission(long permit) {
+        if (permit != generation) return;
+
+        if (state == State.HALF_OPEN && permittedProbeCalls > 0) permittedProbeCalls--;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) return;
+
+        if (state == State.HALF_OPEN) {
+            if (++succeededProbeCalls >= halfOpenProbeCalls) close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) return;
+
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (outcomeCount >= minimumCalls && failureCount * 100 >= failureRateThreshold * outcomeCount) open();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) failureCount--;
+        } else {
+            outcomeCount++;
+        }
+
+        outcomes[outcomeIndex] = failure;
+        if (failure) failureCount++;
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedMillis = System.currentTimeMillis();
+        openCount++;
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 최근 호출들의 실패율(%), 호출 기록이 없으면 0
+     */
+    public synchronized double getFailureRate() {
+        return outcomeCount == 0 ? 0 : failureCount * 100D / outcomeCount;
+    }
+
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+}
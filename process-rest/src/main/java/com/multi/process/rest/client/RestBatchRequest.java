@@ -0,0 +1,33 @@
+package com.multi.process.rest.client;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * RestApiService.batch() 로 한번에 보낼 요청 하나
+ * ex) RestBatchRequest.get("/v1/user/" + id), RestBatchRequest.post("/v1/user/search", body)
+ */
+@Getter
+public class RestBatchRequest {
+    private final HttpMethod method;
+    private final String url;
+    private final Object body;
+    // 기본 헤더 외에 추가하거나 덮어쓸 헤더, 없으면 null
+    private final HttpHeaders headers;
+
+    public RestBatchRequest(HttpMethod method, String url, Object body, HttpHeaders headers) {
+        this.method = method;
+        this.url = url;
+        this.body = body;
+        this.headers = headers;
+    }
+
+    public static RestBatchRequest get(String url) {
+        return new RestBatchRequest(HttpMethod.GET, url, null, null);
+    }
+
+    public static RestBatchRequest post(String url, Object body) {
+        return new RestBatchRequest(HttpMethod.POST, url, body, null);
+    }
+}
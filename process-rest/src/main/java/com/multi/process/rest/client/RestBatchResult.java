@@ -0,0 +1,40 @@
+package com.multi.process.rest.client;
+
+import com.multi.common.core.exception.CommonException;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * RestApiService.batch() 의 요청 하나에 대한 결과, 성공했다면 response 가, 실패했다면 exception 이 채워짐
+ * 한 요청이 실패해도 나머지 요청의 결과에는 영향이 없음
+ */
+@Getter
+public class RestBatchResult<R> {
+    private final ResponseEntity<R> response;
+    private final CommonException exception;
+
+    private RestBatchResult(ResponseEntity<R> response, CommonException exception) {
+        this.response = response;
+        this.exception = exception;
+    }
+
+    public static <R> RestBatchResult<R> success(ResponseEntity<R> response) {
+        return new RestBatchResult<>(response, null);
+    }
+
+    public static <R> RestBatchResult<R> failure(CommonException exception) {
+        return new RestBatchResult<>(null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * 성공했다면 응답 바디를, 실패했다면 해당 예외를 던짐
+     */
+    public R getBodyOrThrow() {
+        if (exception != null) throw exception;
+        return response.getBody();
+    }
+}
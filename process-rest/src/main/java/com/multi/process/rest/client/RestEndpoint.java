@@ -0,0 +1,104 @@
+package com.multi.process.rest.client;
+
+import com.multi.process.rest.annotation.RestServer;
+import lombok.Getter;
+import org.apache.http.client.config.RequestConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * 서버 하나에 대해 미리 해석해둔 호출 정보 (RestEndpoints 가 설정을 읽을 때 만들며, 만든 뒤에는 바뀌지 않음)
+ *  - 기본 URL, 경로를 붙여 URI 를 만들 때 사용하는 UriBuilderFactory
+ *  - 모든 호출이 공유하는 읽기 전용 기본 헤더 (Cache-Control, Pragma, Content-Type + restClient.server.*.headers)
+ *  - 서버별 타임아웃(RequestConfig), 커넥션 풀 크기
+ */
+@Getter
+public class RestEndpoint {
+    private final RestServer server;
+    private final String baseUrl;
+    private final URI baseUri;
+    private final HttpHeaders defaultHeaders;
+    private final RequestConfig requestConfig;
+    private final int maxConnTotal;
+    private final int maxConnPerRoute;
+
+    private final DefaultUriBuilderFactory uriBuilderFactory;
+
+    public RestEndpoint(RestServer server, String baseUrl, Map<String, String> headers,
+                        int connectTimeoutMillis, int readTimeoutMillis, int maxConnTotal, int maxConnPerRoute) {
+        this.server = server;
+        this.baseUrl = baseUrl;
+        this.baseUri = URI.create(baseUrl);
+        // RestTemplate 에 문자열 URL 을 넘겼을 때와 같은 방식으로 인코딩함
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.URI_COMPONENT);
+
+        HttpHeaders defaultHeaders = new HttpHeaders();
+        defaultHeaders.set(HttpHeaders.CACHE_CONTROL, "no-store");
+        defaultHeaders.set(HttpHeaders.PRAGMA, "no-cache");
+        defaultHeaders.set(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8");
+        if (headers != null) headers.forEach(defaultHeaders::set);
+        this.defaultHeaders = HttpHeaders.readOnlyHttpHeaders(defaultHeaders);
+
+        this.requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis)
+                .setConnectionRequestTimeout(connectTimeoutMillis)
+                .build();
+        this.maxConnTotal = maxConnTotal;
+        this.maxConnPerRoute = maxConnPerRoute;
+    }
+
+    /**
+     * 기본 URL 뒤에 path 를 붙인 URI
+     * 인코딩이 필요 없는 경로는 문자열을 한번만 파싱하고, 한글, 공백 등이 있는 경로는 RestTemplate 과 같은 방식으로 인코딩함
+     */
+    public URI resolve(String path) {
+        if (isPlainPath(path)) return URI.create(baseUrl + path);
+        return uriBuilderFactory.expand(path);
+    }
+
+    /**
+     * 기본 URL 뒤에 pathTemplate 을 붙이고 {변수} 를 uriVariables 로 채운 URI
+     * ex) resolve("/v1/user/{id}", id)
+     */
+    public URI resolve(String pathTemplate, Object... uriVariables) {
+        return uriBuilderFactory.expand(pathTemplate, uriVariables);
+    }
+
+    /**
+     * 기본 헤더에 headers 를 덮어쓴 헤더, headers 가 없으면 공유하는 기본 헤더를 그대로 돌려줌
+     */
+    public HttpHeaders mergeHeaders(HttpHeaders headers) {
+        if (headers == null || headers.isEmpty()) return defaultHeaders;
+
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(defaultHeaders);
+        merged.putAll(headers);
+        return merged;
+    }
+
+    public boolean matches(URI uri) {
+        return uri.getPort() == baseUri.getPort()
+                && baseUri.getHost() != null && baseUri.getHost().equalsIgnoreCase(uri.getHost())
+                && baseUri.getScheme() != null && baseUri.getScheme().equalsIgnoreCase(uri.getScheme());
+    }
+
+    // URI 로 바로 파싱해도 되는 경로인지 여부 (인코딩할 문자나 템플릿 변수가 없음)
+    private static boolean isPlainPath(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c <= ' ' || c >= 0x7f) return false;
+            switch (c) {
+                case '{': case '}': case '%': case '"': case '<': case '>':
+                case '\\': case '^': case '`': case '|': case '[': case ']':
+                    return false;
+                default:
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.multi.process.rest.client;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+
+/**
+ * RestTemplate 의 요청마다 호출하는 서버(RestEndpoint)의 타임아웃을 적용하는 RequestFactory
+ * 설정된 서버가 아닌 URI 는 팩토리의 기본 타임아웃을 사용함
+ */
+public class RestEndpointRequestFactory extends HttpComponentsClientHttpRequestFactory {
+    private final RestEndpoints restEndpoints;
+
+    public RestEndpointRequestFactory(HttpClient httpClient, RestEndpoints restEndpoints) {
+        super(httpClient);
+        this.restEndpoints = restEndpoints;
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        RestEndpoint endpoint = restEndpoints.find(uri);
+        if (endpoint == null) return null;
+
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(endpoint.getRequestConfig());
+        return context;
+    }
+}
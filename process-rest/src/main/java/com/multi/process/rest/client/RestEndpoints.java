@@ -0,0 +1,132 @@
+package com.multi.process.rest.client;
+
+import com.multi.common.core.exception.CommonException;
+import com.multi.process.rest.annotation.RestServer;
+import com.multi.properties.ProjectData;
+import com.multi.properties.RestClient;
+import com.multi.properties.RestClient.ServerOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_NETWORK;
+
+/**
+ * RestServer 별 RestEndpoint 모음, 호출할 때마다 설정을 찾고 URL 을 만들지 않도록 시작할 때 한번 해석해둠
+ *
+ * watch() 를 호출하면 project-data.yml 이 바뀌었는지 주기적으로 확인해서, 바뀌었다면 servers.url, restClient 를 다시 읽어 통째로 교체함
+ *  - 교체는 참조 하나를 바꾸는 것이므로 호출하는 쪽은 락 없이 항상 완성된 설정을 보게 됨
+ *  - URL, 기본 헤더, 타임아웃은 바로 반영되지만, 커넥션 풀 크기는 풀을 만들 때만 적용되므로 재시작해야 반영됨
+ *  - jar 안의 파일처럼 파일 시스템에 없는 설정 파일은 확인하지 않음
+ */
+@Slf4j
+public class RestEndpoints implements Closeable {
+    private volatile Map<RestServer, RestEndpoint> endpoints;
+    private volatile long lastModified;
+    private ScheduledExecutorService watcher;
+
+    public RestEndpoints(ProjectData projectData) {
+        this.endpoints = resolve(projectData);
+    }
+
+    /**
+     * 호출할 서버의 RestEndpoint, servers.url 에 서버가 없다면 CommonException(ERROR_NETWORK)
+     */
+    public RestEndpoint get(RestServer server) {
+        RestEndpoint endpoint = endpoints.get(server);
+        if (endpoint == null) {
+            throw new CommonException(ERROR_SYSTEM, ERROR_NETWORK, "No url configured for server " + server.getKey());
+        }
+        return endpoint;
+    }
+
+    /**
+     * uri 가 가리키는 서버의 RestEndpoint, 설정된 서버가 아니라면 null
+     */
+    public RestEndpoint find(URI uri) {
+        for (RestEndpoint endpoint : endpoints.values()) {
+            if (endpoint.matches(uri)) return endpoint;
+        }
+        return null;
+    }
+
+    public void reload(ProjectData projectData) {
+        this.endpoints = resolve(projectData);
+        log.info("Rest endpoints reloaded: {}", endpoints.keySet());
+    }
+
+    /**
+     * resource 가 바뀌었는지 intervalMillis 마다 확인해서 다시 읽음, intervalMillis 가 0 이하면 확인하지 않음
+     */
+    public synchronized void watch(Resource resource, long intervalMillis) {
+        if (intervalMillis <= 0 || watcher != null || !resource.isFile()) return;
+
+        lastModified = getLastModified(resource);
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rest-endpoints-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(() -> reloadIfModified(resource), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reloadIfModified(Resource resource) {
+        long modified = getLastModified(resource);
+        if (modified == lastModified) return;
+
+        try (InputStream in = resource.getInputStream()) {
+            reload(new Yaml().loadAs(in, ProjectData.class));
+            lastModified = modified;
+        } catch (Exception e) {
+            // 잘못 수정된 설정 파일로는 교체하지 않고 기존 설정을 계속 사용함
+            log.error("Failed to reload rest endpoints from " + resource.getDescription(), e);
+        }
+    }
+
+    private static long getLastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Map<RestServer, RestEndpoint> resolve(ProjectData projectData) {
+        RestClient restClient = projectData.getRestClient() == null ? new RestClient() : projectData.getRestClient();
+        Map<String, String> urls = projectData.getServers() == null ? null : projectData.getServers().getUrl();
+
+        Map<RestServer, RestEndpoint> resolved = new EnumMap<>(RestServer.class);
+        for (RestServer server : RestServer.values()) {
+            String baseUrl = urls == null ? null : urls.get(server.getKey());
+            if (baseUrl == null) continue;
+
+            ServerOption option = restClient.getServerOption(server.getKey());
+            resolved.put(server, new RestEndpoint(server, baseUrl, option.getHeaders(),
+                    option.getConnectTimeoutMillis() != null ? option.getConnectTimeoutMillis() : restClient.getConnectTimeoutMillis(),
+                    option.getReadTimeoutMillis() != null ? option.getReadTimeoutMillis() : restClient.getReadTimeoutMillis(),
+                    option.getMaxConnTotal() != null ? option.getMaxConnTotal() : restClient.getMaxConnTotal(),
+                    option.getMaxConnPerRoute() != null ? option.getMaxConnPerRoute() : restClient.getMaxConnPerRoute()));
+        }
+        return Collections.unmodifiableMap(resolved);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+}
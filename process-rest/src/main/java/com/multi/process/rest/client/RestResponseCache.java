@@ -0,0 +1,252 @@
+package com.multi.process.rest.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.common.core.exception.CommonException;
+import com.multi.properties.RestClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RestApiService.getCached() 의 GET 응답 캐시
+ *
+ * 인증 메타데이터처럼 자주 바뀌지 않는 응답을 매번 네트워크로 가져오지 않도록, 업스트림의 캐시 헤더를 따라 응답을 저장해둠
+ *  - Cache-Control 의 max-age 동안은 네트워크를 타지 않고 캐시된 응답을 돌려줌
+ *  - max-age 가 지났거나 no-cache 인 응답은 ETag 가 있다면 If-None-Match 로 재검증하고, 304 를 받으면 캐시된 바디를 그대로 사용함
+ *  - no-store 응답, 200 이 아닌 응답, responseCacheMaxEntryBytes 보다 큰 응답은 캐싱하지 않음
+ *  - 같은 키로 동시에 캐시 미스가 나면 한번만 호출하고, 나머지는 그 결과를 같이 사용함 (single-flight)
+ *
+ * 바디는 바이트 배열로 저장하고 꺼낼 때마다 역직렬화하므로, 호출하는 쪽에서 결과 객체를 수정해도 캐시에 영향이 없음
+ * 캐시 개수는 responseCacheMaxEntries 로 제한되며, 넘으면 가장 오래 사용하지 않은 응답부터 지움 (LRU)
+ */
+public class RestResponseCache {
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Entry> entries;
+    private final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public RestResponseCache(RestClient restClient, ObjectMapper objectMapper) {
+        if (restClient == null) restClient = new RestClient();
+
+        this.maxEntries = Math.max(restClient.getResponseCacheMaxEntries(), 0);
+        this.maxEntryBytes = restClient.getResponseCacheMaxEntryBytes();
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 응답이 있으면 돌려주고, 없거나 만료됐다면 fetcher 로 가져와서 캐싱함
+     *
+     * @param key     캐시 키 (서버, URL, 응답에 영향을 주는 헤더 등)
+     * @param fetcher 재검증용 헤더(If-None-Match)를 받아서 실제로 호출하는 함수, 바디는 바이트 배열로 받아야 함
+     */
+    public <R> ResponseEntity<R> get(String key, Function<HttpHeaders, ResponseEntity<byte[]>> fetcher, Class<R> responseType) {
+        Entry entry = getEntry(key);
+        if (entry != null && entry.isFresh()) {
+            hitCount.increment();
+            return toResponseEntity(entry, responseType);
+        }
+
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            // 다른 스레드가 같은 키로 호출 중이라면 그 결과를 기다림
+            coalescedCount.increment();
+            return toResponseEntity(join(existing), responseType);
+        }
+
+        try {
+            // 캐시를 확인한 뒤, 앞서 호출하던 스레드가 캐싱하고 inFlight 에서 빠졌을 수 있으므로 다시 확인함
+            entry = getEntry(key);
+            if (entry != null && entry.isFresh()) {
+                hitCount.increment();
+                future.complete(entry);
+                return toResponseEntity(entry, responseType);
+            }
+
+            Entry fetched = fetch(key, entry, fetcher);
+            future.complete(fetched);
+            return toResponseEntity(fetched, responseType);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Entry fetch(String key, Entry cached, Function<HttpHeaders, ResponseEntity<byte[]>> fetcher) {
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        if (cached != null && cached.etag != null) conditionalHeaders.setIfNoneMatch(cached.etag);
+
+        ResponseEntity<byte[]> response = fetcher.apply(conditionalHeaders);
+
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            // 바뀌지 않았으므로 바디는 그대로 두고 만료 시간만 갱신함
+            revalidatedCount.increment();
+            Entry revalidated = new Entry(cached.status, cached.headers, cached.body, cached.etag, getExpiresAt(response.getHeaders()));
+            putEntry(key, revalidated);
+            return revalidated;
+        }
+
+        missCount.increment();
+        Entry fetched = new Entry(response.getStatusCodeValue(), response.getHeaders(), response.getBody(), response.getHeaders().getETag(), getExpiresAt(response.getHeaders()));
+        if (isCacheable(response)) {
+            putEntry(key, fetched);
+        } else {
+            removeEntry(key);
+        }
+        return fetched;
+    }
+
+    private boolean isCacheable(ResponseEntity<byte[]> response) {
+        if (maxEntries == 0 || response.getStatusCode() != HttpStatus.OK) return false;
+        if (response.getBody() != null && response.getBody().length > maxEntryBytes) return false;
+
+        String cacheControl = response.getHeaders().getCacheControl();
+        if (cacheControl != null && cacheControl.contains("no-store")) return false;
+
+        // 만료 시간이 없다면 재검증할 수 있을 때만 캐싱함
+        return getMaxAgeMillis(cacheControl) > 0 || response.getHeaders().getETag() != null;
+    }
+
+    private static long getExpiresAt(HttpHeaders headers) {
+        return System.currentTimeMillis() + getMaxAgeMillis(headers.getCacheControl());
+    }
+
+    // no-cache 이거나 max-age 가 없다면 0 (매번 재검증)
+    private static long getMaxAgeMillis(String cacheControl) {
+        if (cacheControl == null || cacheControl.contains("no-cache")) return 0;
+
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        return matcher.find() ? TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1))) : 0;
+    }
+
+    private <R> ResponseEntity<R> toResponseEntity(Entry entry, Class<R> responseType) {
+        return ResponseEntity.status(entry.status).headers(entry.headers).body(readBody(entry, responseType));
+    }
+
+    private <R> R readBody(Entry entry, Class<R> responseType) {
+        byte[] body = entry.body;
+        if (body == null || body.length == 0 || responseType == Void.class) return null;
+
+        if (responseType == byte[].class) return responseType.cast(body.clone());
+        if (responseType == String.class) return responseType.cast(new String(body, getCharset(entry.headers)));
+
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new CommonException(e);
+        }
+    }
+
+    private static Charset getCharset(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType == null || contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private Entry getEntry(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void putEntry(String key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private void removeEntry(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private static class Entry {
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final String etag;
+        private final long expiresAt;
+
+        private Entry(int status, HttpHeaders headers, byte[] body, String etag, long expiresAt) {
+            this.status = status;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.multi.process.rest.client;
+
+import com.multi.common.core.exception.BusinessException;
+import com.multi.process.rest.annotation.RestServer;
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.multi.common.core.exception.ErrorType.ERROR_SYSTEM;
+import static com.multi.common.core.exception.ServiceStatusCode.ERROR_INTERNAL_SERVER_DEAD;
+
+/**
+ * 서버 하나에 대한 벌크헤드(동시 호출 수 제한)와 서킷 브레이커
+ *
+ * 한 서버가 느려지더라도 해당 서버를 호출하는 스레드, 커넥션은 maxConcurrentCalls 개까지만 묶이고
+ * 실패가 계속되면 서킷을 열어서 타임아웃을 기다리지 않고 바로 실패 처리함 (BusinessException, ERROR_INTERNAL_SERVER_DEAD)
+ * 서버 장애 중에는 거부가 요청 수만큼 일어나므로 스택트레이스 없는 예외를 던짐
+ */
+public class RestServerGuard {
+    @Getter
+    private final RestServer server;
+    @Getter
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMillis;
+    private final Semaphore semaphore;
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+
+    private final LongAdder succeededCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder bulkheadRejectedCount = new LongAdder();
+    private final LongAdder circuitRejectedCount = new LongAdder();
+
+    public RestServerGuard(RestServer server, int maxConcurrentCalls, long bulkheadWaitMillis, CircuitBreaker circuitBreaker) {
+        this.server = server;
+        this.maxConcurrentCalls = Math.max(maxConcurrentCalls, 1);
+        this.bulkheadWaitMillis = bulkheadWaitMillis;
+        this.semaphore = new Semaphore(this.maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 호출 전에 자리를 잡음, 서킷이 열려있거나 자리가 없으면 바로 예외를 던짐
+     * 정상적으로 반환됐다면 호출 후 반드시 돌려받은 permit 으로 onSuccess(), onFailure(), release() 중 하나를 호출해야 함
+     */
+    public long acquire() {
+        long permit = circuitBreaker.tryAcquirePermission();
+        if (permit == CircuitBreaker.NO_PERMISSION) {
+            circuitRejectedCount.increment();
+            throw new BusinessException(ERROR_SYSTEM, ERROR_INTERNAL_SERVER_DEAD, "Circuit is open for server " + server.getKey());
+        }
+
+        if (!tryAcquireSemaphore()) {
+            bulkheadRejectedCount.increment();
+            // 호출하지 않았으므로 서킷 브레이커에는 결과를 기록하지 않음
+            circuitBreaker.releasePermission(permit);
+            throw new BusinessException(ERROR_SYSTEM, ERROR_INTERNAL_SERVER_DEAD, "Too many concurrent calls to server " + server.getKey() + " (max " + maxConcurrentCalls + ")");
+        }
+        return permit;
+    }
+
+    private boolean tryAcquireSemaphore() {
+        if (bulkheadWaitMillis <= 0) return semaphore.tryAcquire();
+
+        try {
+            return semaphore.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void onSuccess(long permit) {
+        semaphore.release();
+        succeededCount.increment();
+        circuitBreaker.onSuccess(permit);
+    }
+
+    public void onFailure(long permit) {
+        semaphore.release();
+        failedCount.increment();
+        circuitBreaker.onFailure(permit);
+    }
+
+    /**
+     * 호출이 취소되는 등 결과를 알 수 없을 때 자리만 돌려줌
+     */
+    public void release(long permit) {
+        semaphore.release();
+        circuitBreaker.releasePermission(permit);
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - semaphore.availablePermits();
+    }
+
+    public long getSucceededCount() {
+        return succeededCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getBulkheadRejectedCount() {
+        return bulkheadRejectedCount.sum();
+    }
+
+    public long getCircuitRejectedCount() {
+        return circuitRejectedCount.sum();
+    }
+}
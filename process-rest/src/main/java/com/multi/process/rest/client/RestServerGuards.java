@@ -0,0 +1,69 @@
+package com.multi.process.rest.client;
+
+import com.multi.process.rest.annotation.RestServer;
+import com.multi.properties.RestClient;
+import com.multi.properties.RestClient.ServerOption;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RestServer 별 RestServerGuard 모음, 동기(RestTemplate)/비동기(AsyncRestClient) 호출이 같은 벌크헤드, 서킷 브레이커를 공유함
+ */
+public class RestServerGuards {
+    private final Map<RestServer, RestServerGuard> guards = new EnumMap<>(RestServer.class);
+
+    public RestServerGuards(RestClient restClient) {
+        if (restClient == null) restClient = new RestClient();
+
+        for (RestServer server : RestServer.values()) {
+            ServerOption option = restClient.getServerOption(server.getKey());
+            int maxConcurrentCalls = option.getMaxConcurrentCalls() != null ? option.getMaxConcurrentCalls() : restClient.getMaxConcurrentCalls();
+            int failureRateThreshold = option.getFailureRateThreshold() != null ? option.getFailureRateThreshold() : restClient.getFailureRateThreshold();
+            long openStateMillis = option.getOpenStateMillis() != null ? option.getOpenStateMillis() : restClient.getOpenStateMillis();
+
+            CircuitBreaker circuitBreaker = new CircuitBreaker(restClient.getSlidingWindowSize(), restClient.getMinimumCalls(),
+                    failureRateThreshold, openStateMillis, restClient.getHalfOpenProbeCalls());
+            guards.put(server, new RestServerGuard(server, maxConcurrentCalls, restClient.getBulkheadWaitMillis(), circuitBreaker));
+        }
+    }
+
+    public RestServerGuard get(RestServer server) {
+        return guards.get(server);
+    }
+
+    /**
+     * 서킷 브레이커에 실패로 기록할 예외인지 여부
+     * 연결 실패, 타임아웃(ResourceAccessException), 5xx 응답만 서버 문제로 보고, 4xx 응답 등은 호출하는 쪽의 문제이므로 성공으로 기록함
+     */
+    public static boolean isServerFailure(Throwable throwable) {
+        return throwable instanceof ResourceAccessException || throwable instanceof HttpServerErrorException;
+    }
+
+    /**
+     * 서버별 벌크헤드, 서킷 브레이커 상태
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (RestServerGuard guard : guards.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("server", guard.getServer().getKey());
+            item.put("state", guard.getCircuitBreaker().getState());
+            item.put("failureRate", guard.getCircuitBreaker().getFailureRate());
+            item.put("openCount", guard.getCircuitBreaker().getOpenCount());
+            item.put("activeCalls", guard.getActiveCalls());
+            item.put("maxConcurrentCalls", guard.getMaxConcurrentCalls());
+            item.put("succeeded", guard.getSucceededCount());
+            item.put("failed", guard.getFailedCount());
+            item.put("bulkheadRejected", guard.getBulkheadRejectedCount());
+            item.put("circuitRejected", guard.getCircuitRejectedCount());
+            result.add(item);
+        }
+        return result;
+    }
+}
@@ -1,5 +1,12 @@
 package com.multi.process.rest.configuration;
 
+import com.multi.process.rest.metrics.AdaptiveWarningThresholds;
+import com.multi.process.rest.metrics.HttpRouteMetrics;
+import com.multi.process.rest.util.BodyCaptureRequestWrapper;
+import com.multi.process.rest.util.BodyCaptureResponseWrapper;
+import com.multi.process.rest.util.HttpLogDispatcher;
+import com.multi.properties.HttpLog;
+import com.multi.properties.ProjectData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
@@ -10,8 +17,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -20,28 +25,49 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 import static com.multi.process.rest.util.HttpLogger.REQUEST_START_TIME;
 import static com.multi.process.rest.util.HttpLogger.RESPONSE_OBJECT;
-import static com.multi.process.rest.util.HttpLogger.writeHttpLog;
 
 @Slf4j
 public class HttpConfiguration {
+    /**
+     * HTTP 로그 디스패처, project-data.yml 의 httpLog.async 가 true 일 경우 로그를 별도 스레드에서 기록함
+     */
+    @Bean(name = "httpLogDispatcher", destroyMethod = "shutdown")
+    public HttpLogDispatcher httpLogDispatcher(ProjectData projectData) {
+        return new HttpLogDispatcher(projectData.getHttpLog());
+    }
+
+    /**
+     * 라우트별 평소 응답 시간/크기를 기준으로 느리거나 큰 요청에 대한 경고 여부를 판단함
+     */
+    @Bean(name = "adaptiveWarningThresholds")
+    public AdaptiveWarningThresholds adaptiveWarningThresholds(ProjectData projectData) {
+        return new AdaptiveWarningThresholds(projectData.getHttpLog());
+    }
+
     @Bean(name = "multiHttpFilter")
     @Order(Ordered.HIGHEST_PRECEDENCE)
-    public OncePerRequestFilter multiHttpFilter() {
+    public OncePerRequestFilter multiHttpFilter(HttpLogDispatcher httpLogDispatcher, AdaptiveWarningThresholds adaptiveWarningThresholds,
+                                                HttpRouteMetrics httpRouteMetrics, ProjectData projectData) {
+        int bodyCaptureLimit = projectData.getHttpLog() == null ? new HttpLog().getBodyCaptureLimit() : projectData.getHttpLog().getBodyCaptureLimit();
+
         return new OncePerRequestFilter() {
             @Override
             protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
                 request.setAttribute(REQUEST_START_TIME, System.currentTimeMillis());
+                long startNanos = System.nanoTime();
 
                 //setCors(request, response);
 
                 // 로깅을 할 경우 리퀘스트/리스폰스 바디를 읽게 되는데, Stream 객체는 자체적으로 커서를 갖고 있으므로 1회용으로 읽는게 끝임
-                // 해당 1회용 스트림을 다시 읽을 수 있도록 바디 데이터를 캐싱해주는 클래스를 사용함 (스프링에서 기본 제공되는 클래스)
-                ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-                ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+                // 바디 전체를 캐싱하면 엑셀 다운로드 등의 대용량 리스폰스가 모두 힙에 쌓이므로, 바디는 바로 흘려보내고 로깅용으로 앞부분(bodyCaptureLimit)만 복사해두는 래퍼를 사용함
+                // 리스폰스 래퍼는 실제로 쓰여진 바이트 수도 세므로, 리스폰스 크기를 로깅하기 위해 리스폰스 객체를 다시 직렬화할 필요가 없음
+                BodyCaptureRequestWrapper wrappedRequest = new BodyCaptureRequestWrapper(request, bodyCaptureLimit);
+                BodyCaptureResponseWrapper wrappedResponse = new BodyCaptureResponseWrapper(response, bodyCaptureLimit);
 
                 if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
                     // Preflight 요청일 경우 묻지도 따지지도 않고 200번 리턴
@@ -50,21 +76,29 @@ public class HttpConfiguration {
                 } else {
                     try {
                         chain.doFilter(wrappedRequest, wrappedResponse);
-
-                        // 요청 성공 시 (AOP를 거칠 경우, ResultInfo 실패 코드 포함) Http 로그를 표시
-                        // INFO 레벨 이상일 경우 로직을 덜 태우기 위해 if문 사용 (멀티쓰레드 환경에도 정확한 로깅을 위해 한번에 출력)
-                        writeHttpLog(wrappedRequest, wrappedResponse);
                     } catch (Exception e) {
                         // AOP를 거치지 못하고 필터단에서 Exception 발생 시 해당 Exception을 로깅
                         request.setAttribute(RESPONSE_OBJECT, e);
-                        // INFO 레벨 이상일 경우 로직을 덜 태우기 위해 if문 사용 (멀티쓰레드 환경에도 정확한 로깅을 위해 한번에 출력)
-                        writeHttpLog(wrappedRequest, wrappedResponse);
 
                         // Exception을 JSON 형태의 ResultInfo로 감싸서 수동으로 response 작성
                         //writeExceptionResponse(wrappedRequest, wrappedResponse, e);
                     } finally {
-                        // 정상적으로 Response를 뿌려주기 위해 리스폰스 바디를 복사하여 API 호출자에게 보내줌
-                        wrappedResponse.copyBodyToResponse();
+                        // 바디는 이미 클라이언트로 나갔으므로, 래퍼의 Writer 에 남아있는 내용만 내보내줌
+                        wrappedResponse.flushWriter();
+
+                        String route = HttpRouteMetrics.getRoute(request);
+                        long elapsedNanos = System.nanoTime() - startNanos;
+                        long responseBytes = wrappedResponse.getByteCount();
+
+                        // 라우트별 평소 값에 비해 느리거나 큰 요청이라면 경고 플래그를 세움 (로그를 넘기기 전에 해야 로그에 반영됨)
+                        adaptiveWarningThresholds.check(request, route, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), request.getContentLengthLong(), responseBytes);
+
+                        // 요청 성공 시 (AOP를 거칠 경우, ResultInfo 실패 코드 포함) 및 필터단에서 Exception 발생 시 Http 로그를 표시
+                        // INFO 레벨 이상일 경우 로직을 덜 태우기 위해 if문 사용 (멀티쓰레드 환경에도 정확한 로깅을 위해 한번에 출력)
+                        httpLogDispatcher.dispatch(wrappedRequest, wrappedResponse);
+
+                        // 라우트(URL 패턴)별 응답 시간, 리스폰스 크기, 상태 코드 기록
+                        httpRouteMetrics.record(route, elapsedNanos, responseBytes, wrappedResponse.getStatus());
                     }
                 }
             }
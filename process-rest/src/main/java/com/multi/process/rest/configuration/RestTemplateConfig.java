@@ -1,11 +1,20 @@
 package com.multi.process.rest.configuration;
 
-
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.process.rest.client.AsyncRestClient;
+import com.multi.process.rest.client.RestEndpointRequestFactory;
+import com.multi.process.rest.client.RestEndpoints;
+import com.multi.process.rest.client.RestResponseCache;
+import com.multi.process.rest.client.RestServerGuards;
+import com.multi.properties.ProjectData;
+import com.multi.properties.RestClient;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
@@ -15,30 +24,94 @@ import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class RestTemplateConfig {
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+    /**
+     * RestServer 별로 시작할 때 해석해둔 URL, 기본 헤더, 타임아웃, project-data.yml 이 바뀌면 다시 읽음
+     */
+    @Bean(destroyMethod = "close")
+    public RestEndpoints restEndpoints(ProjectData projectData) {
+        RestEndpoints restEndpoints = new RestEndpoints(projectData);
+        restEndpoints.watch(new ClassPathResource("project-data.yml"), getRestClient(projectData).getEndpointReloadMillis());
+        return restEndpoints;
+    }
 
+    /**
+     * 동기 호출(RestTemplate)이 함께 사용하는 커넥션 풀, 컨텍스트 종료 시 풀도 같이 닫힘
+     * 타임아웃은 요청마다 호출하는 서버(RestEndpoint)의 설정을 사용함
+     */
+    @Bean
+    public HttpComponentsClientHttpRequestFactory restClientHttpRequestFactory(ProjectData projectData, RestEndpoints restEndpoints) {
+        RestClient restClient = getRestClient(projectData);
         CloseableHttpClient httpClient = HttpClientBuilder.create()
-                .setMaxConnTotal(120)   //연결을 유지할 최대 숫자
-                .setMaxConnPerRoute(100)    //특정 경로당 최대 숫자
-                .setConnectionTimeToLive(5, TimeUnit.SECONDS)   // keep - alive
+                .setMaxConnTotal(restClient.getMaxConnTotal())   //연결을 유지할 최대 숫자
+                .setMaxConnPerRoute(restClient.getMaxConnPerRoute())    //특정 경로당 최대 숫자
+                .setConnectionTimeToLive(restClient.getConnectionTimeToLiveMillis(), TimeUnit.MILLISECONDS)   // keep - alive
                 .build();
 
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setHttpClient(httpClient);  //HttpComponentsClientHttpRequestFactory 생성자에 주입
+        return new RestEndpointRequestFactory(httpClient, restEndpoints);
+    }
 
+    /**
+     * 기본 RestTemplate, 응답을 버퍼링하지 않으므로 응답 스트림은 메시지 컨버터나 ResponseExtractor 가 한번만 읽을 수 있음
+     * 대용량 응답을 RestApiService.stream(), download() 로 흘려보내도 힙에 복사되지 않음
+     */
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, ProjectData projectData, HttpComponentsClientHttpRequestFactory restClientHttpRequestFactory) {
+        RestClient restClient = getRestClient(projectData);
+        return restTemplateBuilder
+                .requestFactory(() -> restClientHttpRequestFactory)
+                .setConnectTimeout(Duration.ofMillis(restClient.getConnectTimeoutMillis())) //연결시간초과, ms
+                .setReadTimeout(Duration.ofMillis(restClient.getReadTimeoutMillis()))    //읽기시간초과, ms
+                .build();
+    }
+
+    /**
+     * 요청 / 응답을 버퍼링하는 RestTemplate, 로깅 인터셉터처럼 바디를 두번 읽어야 하는 경우에만 사용함 (RestApiService.exchangeBuffered())
+     */
+    @Bean
+    public RestTemplate bufferingRestTemplate(RestTemplateBuilder restTemplateBuilder, ProjectData projectData, HttpComponentsClientHttpRequestFactory restClientHttpRequestFactory) {
+        RestClient restClient = getRestClient(projectData);
         //인터셉터가 요청 / 응답 로거로서 기능하도록하려면 인터셉터가 처음으로, 클라이언트가 두 번째로 두 번 읽어야한다.
         //기본 구현에서는 응답 스트림을 한 번만 읽을 수 있습니다.
         // 이러한 특정 시나리오를 제공하기 위해 Spring은 BufferingClientHttpRequestFactory 라는 특수 클래스를 제공.
         // 이름에서 알 수 있듯이이 클래스는 여러 용도로 JVM 메모리에서 요청 / 응답을 버퍼링합니다.
-        BufferingClientHttpRequestFactory bufferingClientHttpRequestFactory = new BufferingClientHttpRequestFactory(factory);
+        BufferingClientHttpRequestFactory bufferingClientHttpRequestFactory = new BufferingClientHttpRequestFactory(restClientHttpRequestFactory);
 
         return restTemplateBuilder
                 .requestFactory(() -> bufferingClientHttpRequestFactory)
-                .setConnectTimeout(Duration.ofMillis(5000)) //읽기시간초과, ms
-                .setReadTimeout(Duration.ofMillis(5000))    //연결시간초과, ms
+                .setConnectTimeout(Duration.ofMillis(restClient.getConnectTimeoutMillis())) //연결시간초과, ms
+                .setReadTimeout(Duration.ofMillis(restClient.getReadTimeoutMillis()))    //읽기시간초과, ms
                 .build();
     }
+
+    /**
+     * RestServer 별 커넥션 풀을 갖는 비동기 클라이언트, RestApiService 의 *Async 메서드에서 사용함
+     */
+    @Bean(destroyMethod = "close")
+    public AsyncRestClient asyncRestClient(ProjectData projectData, RestEndpoints restEndpoints, ObjectMapper objectMapper, RestServerGuards restServerGuards) {
+        return new AsyncRestClient(projectData, restEndpoints, objectMapper, restServerGuards);
+    }
+
+    /**
+     * RestServer 별 벌크헤드(동시 호출 수 제한)와 서킷 브레이커, 동기/비동기 호출이 함께 사용함
+     */
+    @Bean
+    public RestServerGuards restServerGuards(ProjectData projectData) {
+        return new RestServerGuards(projectData.getRestClient());
+    }
+
+    /**
+     * RestApiService.getCached() 의 GET 응답 캐시
+     */
+    @Bean
+    public RestResponseCache restResponseCache(ProjectData projectData, ObjectMapper objectMapper) {
+        return new RestResponseCache(projectData.getRestClient(), objectMapper);
+    }
+
+    private static RestClient getRestClient(ProjectData projectData) {
+        return projectData.getRestClient() == null ? new RestClient() : projectData.getRestClient();
+    }
+
     /*@Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
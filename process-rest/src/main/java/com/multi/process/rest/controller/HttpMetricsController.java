@@ -0,0 +1,89 @@
+package com.multi.process.rest.controller;
+
+import com.multi.process.rest.client.RestResponseCache;
+import com.multi.process.rest.client.RestServerGuards;
+import com.multi.process.rest.metrics.HttpRouteMetrics;
+import com.multi.process.rest.util.HttpLogDispatcher;
+import com.multi.process.rest.util.HttpLogPolicy;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * multiHttpFilter 에서 수집한 라우트별 HTTP 지표 및 외부 서버 호출 상태를 조회하는 엔드포인트
+ */
+@Api(tags = "HTTP 지표-API")
+@RestController
+@RequestMapping("/v1/api/metrics")
+public class HttpMetricsController {
+    @Autowired
+    HttpRouteMetrics httpRouteMetrics;
+    @Autowired(required = false)
+    HttpLogDispatcher httpLogDispatcher;
+    @Autowired(required = false)
+    RestServerGuards restServerGuards;
+    @Autowired(required = false)
+    RestResponseCache restResponseCache;
+
+    @ApiOperation(value = "라우트별 응답 시간 백분위수(p50/p90/p99/p999), 처리량, 리스폰스 크기, 상태 코드 및 HTTP 로그 정책별 집계")
+    @RequestMapping(value = "/http", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public Map<String, Object> getHttpMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("routes", httpRouteMetrics.snapshot());
+
+        if (httpLogDispatcher != null) {
+            Map<String, Object> httpLog = new LinkedHashMap<>();
+            httpLog.put("async", httpLogDispatcher.isAsync());
+            httpLog.put("captured", httpLogDispatcher.getCapturedCount());
+            httpLog.put("written", httpLogDispatcher.getWrittenCount());
+            httpLog.put("dropped", httpLogDispatcher.getDroppedCount());
+            httpLog.put("late", httpLogDispatcher.getLateCount());
+            httpLog.put("callerRuns", httpLogDispatcher.getCallerRunsCount());
+            httpLog.put("pending", httpLogDispatcher.getPendingCount());
+
+            List<Map<String, Object>> policies = new ArrayList<>();
+            for (HttpLogPolicy.RouteLogPolicy policy : httpLogDispatcher.getHttpLogPolicy().getPolicies()) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("pattern", policy.getPattern());
+                item.put("sampleRate", policy.getSampleRate());
+                item.put("maxPerSecond", policy.getMaxPerSecond());
+                item.put("logged", policy.getLoggedCount());
+                item.put("sampledOut", policy.getSampledOutCount());
+                item.put("rateLimited", policy.getRateLimitedCount());
+                policies.add(item);
+            }
+            httpLog.put("policies", policies);
+            result.put("httpLog", httpLog);
+        }
+
+        return result;
+    }
+
+    @ApiOperation(value = "외부 서버(RestServer)별 서킷 브레이커 상태, 동시 호출 수, 성공/실패/거부 수")
+    @RequestMapping(value = "/rest", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public List<Map<String, Object>> getRestMetrics() {
+        return restServerGuards == null ? new ArrayList<>() : restServerGuards.snapshot();
+    }
+
+    @ApiOperation(value = "외부 서버 GET 응답 캐시(RestApiService.getCached) 상태")
+    @RequestMapping(value = "/rest/cache", method = RequestMethod.GET, produces = "application/json; charset=utf8")
+    public Map<String, Object> getRestCacheMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (restResponseCache != null) {
+            result.put("size", restResponseCache.size());
+            result.put("hit", restResponseCache.getHitCount());
+            result.put("miss", restResponseCache.getMissCount());
+            result.put("revalidated", restResponseCache.getRevalidatedCount());
+            result.put("coalesced", restResponseCache.getCoalescedCount());
+        }
+        return result;
+    }
+}
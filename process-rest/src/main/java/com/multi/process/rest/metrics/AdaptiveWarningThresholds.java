@@ -0,0 +1,118 @@
+package com.multi.process.rest.metrics;
+
+import com.multi.properties.HttpLog;
+import com.multi.properties.HttpLog.RouteThreshold;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.multi.process.rest.util.HttpLogUtils.setWarningInfo;
+
+/**
+ * 느린/대용량 요청에 대한 HttpLogger 경고 기준치를 라우트별로 정하는 클래스
+ *
+ * 모든 라우트에 같은 고정 기준치(3초, 1MB)를 쓰면 엑셀 다운로드처럼 원래 크고 느린 API 는 매번 WARN 로그를 남기고
+ * 평소 수 ms 걸리던 API 가 수백 ms 로 느려지는 건 잡아내지 못하므로, 라우트별 평소 값에서 크게 벗어난 경우에만 경고함
+ *  - 응답 시간, 리스폰스 크기는 라우트별 EWMA 평균 + outlierSigma * 표준편차 를 기준치로 사용함
+ *  - 요청 수가 baselineMinSamples 에 못 미치는 라우트는 고정 기준치를 사용함
+ *  - routeThresholds 에 지정된 라우트는 지정된 값을 기준치로 사용함
+ *  - 리퀘스트 바디 크기는 항상 고정 기준치(혹은 routeThresholds)를 사용함
+ */
+public class AdaptiveWarningThresholds {
+    private static final int MAX_ROUTE_COUNT = 1000;
+
+    private final HttpLog httpLog;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public AdaptiveWarningThresholds(HttpLog httpLog) {
+        this.httpLog = httpLog == null ? new HttpLog() : httpLog;
+    }
+
+    /**
+     * 기준치를 넘는 항목이 있다면 리퀘스트에 경고 플래그를 세우고, 라우트별 기준치를 갱신함
+     * HttpLogger 로 로그를 넘기기 전에 호출해야 경고가 로그에 반영됨
+     */
+    public void check(HttpServletRequest request, String route, long elapsedMillis, long requestBytes, long responseBytes) {
+        RouteState state = getRouteState(route);
+
+        // 리퀘스트 바디로 대용량의 무언가가 들어왔다면 문제가 있는 것으로 판명
+        long largeRequestBytes = state.threshold != null && state.threshold.getLargeRequestBytes() != null
+                ? state.threshold.getLargeRequestBytes() : httpLog.getLargeRequestBytes();
+        if (requestBytes > largeRequestBytes) {
+            setWarningInfo("Large request body (" + requestBytes + " bytes, threshold " + largeRequestBytes + " bytes)", request);
+        }
+
+        // 리스폰스에 걸리는 시간이 평소보다 길다면 API 자체에 무언가 문제가 있으므로 리퀘스트 로그를 WARN 레벨로 격상
+        long slowResponseMillis = getThreshold(state.threshold == null ? null : state.threshold.getSlowResponseMillis(),
+                state.latencyMillis, httpLog.getMinSlowResponseMillis(), httpLog.getSlowResponseMillis());
+        if (elapsedMillis > slowResponseMillis) {
+            setWarningInfo("Slow response (" + elapsedMillis + "ms, threshold " + slowResponseMillis + "ms)", request);
+        }
+        state.latencyMillis.update(elapsedMillis);
+
+        // 리스폰스 데이터가 평소보다 크다면 API 자체에 무언가 문제가 있으므로 리퀘스트 로그를 WARN 레벨로 격상
+        if (responseBytes >= 0) {
+            long largeResponseBytes = getThreshold(state.threshold == null ? null : state.threshold.getLargeResponseBytes(),
+                    state.responseBytes, httpLog.getMinLargeResponseBytes(), httpLog.getLargeResponseBytes());
+            if (responseBytes > largeResponseBytes) {
+                setWarningInfo("Large response body (" + responseBytes + " bytes, threshold " + largeResponseBytes + " bytes)", request);
+            }
+            state.responseBytes.update(responseBytes);
+        }
+    }
+
+    /**
+     * 해당 라우트의 현재 기준치 (라우트 지정값 > 라우트별 기준치 > 고정 기준치 순)
+     */
+    private long getThreshold(Long routeThreshold, RouteBaseline baseline, long minThreshold, long fixedThreshold) {
+        if (routeThreshold != null) return routeThreshold;
+        if (!httpLog.isAdaptiveWarning()) return fixedThreshold;
+
+        double upperBound = baseline.getUpperBound(httpLog.getOutlierSigma(), httpLog.getBaselineMinSamples());
+        if (upperBound < 0) return fixedThreshold;
+
+        return Math.max((long) upperBound, minThreshold);
+    }
+
+    private RouteState getRouteState(String route) {
+        RouteState state = routes.get(route);
+        if (state != null) return state;
+
+        // 라우트 수가 너무 많아지면 나머지는 하나로 묶음
+        if (routes.size() >= MAX_ROUTE_COUNT) route = HttpRouteMetrics.OVERFLOW_ROUTE;
+        return routes.computeIfAbsent(route, this::createRouteState);
+    }
+
+    private RouteState createRouteState(String route) {
+        // 라우트 키는 "GET /v1/api/user/info" 형태이므로 URL 패턴 부분만 routeThresholds 의 패턴과 비교함
+        String path = route.substring(route.indexOf(' ') + 1);
+
+        RouteThreshold threshold = null;
+        Map<String, RouteThreshold> routeThresholds = httpLog.getRouteThresholds();
+        if (routeThresholds != null) for (Map.Entry<String, RouteThreshold> entry : routeThresholds.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                threshold = entry.getValue();
+                break;
+            }
+        }
+
+        return new RouteState(threshold, httpLog.getBaselineAlpha());
+    }
+
+    private static class RouteState {
+        private final RouteThreshold threshold;
+        private final RouteBaseline latencyMillis;
+        private final RouteBaseline responseBytes;
+
+        private RouteState(RouteThreshold threshold, double alpha) {
+            this.threshold = threshold;
+            this.latencyMillis = new RouteBaseline(alpha);
+            this.responseBytes = new RouteBaseline(alpha);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.multi.process.rest.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * multiHttpFilter 에서 수집하는 라우트별 HTTP 지표 저장소
+ *
+ * 라우트는 실제 URI 가 아닌 스프링 MVC 가 매칭한 URL 패턴(ex. "GET /v1/api/user/info")을 기준으로 묶음
+ * 매칭된 핸들러가 없는 요청(404 등)은 UNMAPPED_ROUTE 로 묶어서, 임의의 URI 로 라우트 수가 늘어나지 않도록 함
+ */
+@Component
+public class HttpRouteMetrics {
+    public static final String UNMAPPED_ROUTE = "UNMAPPED";
+    public static final String OVERFLOW_ROUTE = "OTHER";
+    private static final int MAX_ROUTE_COUNT = 1000;
+
+    private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 리퀘스트가 매칭된 라우트 키 (필터에서 chain.doFilter() 이후에 호출해야 패턴을 알 수 있음)
+     */
+    public static String getRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) return UNMAPPED_ROUTE;
+
+        return request.getMethod() + " " + pattern;
+    }
+
+    public void record(String route, long elapsedNanos, long responseBytes, int status) {
+        getRouteMetrics(route).record(elapsedNanos, responseBytes, status);
+    }
+
+    public RouteMetrics getRouteMetrics(String route) {
+        RouteMetrics metrics = routes.get(route);
+        if (metrics != null) return metrics;
+
+        // 라우트 수가 너무 많아지면 나머지는 하나로 묶음
+        if (routes.size() >= MAX_ROUTE_COUNT) route = OVERFLOW_ROUTE;
+        return routes.computeIfAbsent(route, RouteMetrics::new);
+    }
+
+    /**
+     * 라우트별 지표 요약, 요청 수가 많은 순으로 정렬됨
+     */
+    public List<RouteMetricsSnapshot> snapshot() {
+        List<RouteMetricsSnapshot> snapshots = new ArrayList<>();
+        for (RouteMetrics metrics : routes.values()) {
+            snapshots.add(toSnapshot(metrics));
+        }
+        snapshots.sort(Comparator.comparingLong(RouteMetricsSnapshot::getCount).reversed());
+        return snapshots;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    private static RouteMetricsSnapshot toSnapshot(RouteMetrics metrics) {
+        LogLinearHistogram.Snapshot latency = metrics.getLatencyNanos().snapshot();
+        LogLinearHistogram.Snapshot bytes = metrics.getResponseBytes().snapshot();
+        long count = latency.getCount();
+
+        RouteMetricsSnapshot snapshot = new RouteMetricsSnapshot();
+        snapshot.setRoute(metrics.getRoute());
+        snapshot.setCount(count);
+
+        long elapsedMillis = Math.max(metrics.getLastRecordedMillis() - metrics.getCreatedMillis(), 1000);
+        snapshot.setThroughputPerSecond(count * 1000D / elapsedMillis);
+
+        snapshot.setMeanMillis(count == 0 ? 0 : toMillis(metrics.getLatencyNanos().getSum() / (double) count));
+        snapshot.setP50Millis(toMillis(latency.getValueAtPercentile(50)));
+        snapshot.setP90Millis(toMillis(latency.getValueAtPercentile(90)));
+        snapshot.setP99Millis(toMillis(latency.getValueAtPercentile(99)));
+        snapshot.setP999Millis(toMillis(latency.getValueAtPercentile(99.9)));
+        snapshot.setMaxMillis(toMillis(metrics.getLatencyNanos().getMax()));
+
+        snapshot.setTotalBytes(metrics.getResponseBytes().getSum());
+        snapshot.setP50Bytes(bytes.getValueAtPercentile(50));
+        snapshot.setP99Bytes(bytes.getValueAtPercentile(99));
+        snapshot.setMaxBytes(metrics.getResponseBytes().getMax());
+
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        for (int statusClass = 1; statusClass <= 5; statusClass++) {
+            long statusCount = metrics.getStatusCount(statusClass);
+            if (statusCount > 0) statusCounts.put(statusClass + "xx", statusCount);
+        }
+        if (metrics.getStatusCount(0) > 0) statusCounts.put("other", metrics.getStatusCount(0));
+        snapshot.setStatusCounts(statusCounts);
+
+        return snapshot;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
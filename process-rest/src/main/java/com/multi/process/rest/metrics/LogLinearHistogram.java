@@ -0,0 +1,121 @@
+package com.multi.process.rest.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 락 없이 값을 기록하는 HDR 스타일의 로그-선형 히스토그램
+ *
+ * 2의 거듭제곱 구간([2^n, 2^(n+1)))마다 SUB_BUCKET_COUNT 개의 동일한 크기의 버킷으로 나누어 기록하므로
+ * 값의 크기와 상관없이 약 3% 이내의 상대 오차로 백분위수를 구할 수 있음
+ *  - 0 ~ 63 은 값 그대로의 버킷에 기록함
+ *  - 2^(MAX_EXPONENT+1) 이상의 값은 마지막 버킷에 기록함 (나노초 기준 약 4.8시간)
+ *
+ * 기록은 AtomicLongArray 의 원자적 증가만 사용하므로 여러 리퀘스트 스레드에서 동시에 호출해도 됨
+ */
+public class LogLinearHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;     // 32
+    private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;  // 64
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;            // 6
+    private static final int MAX_EXPONENT = 43;
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private volatile long maxValue = 0;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalSum.add(value);
+
+        // 최대값은 경합이 적으므로 단순 비교 후 갱신함 (동시에 갱신될 경우 약간 작은 값이 남을 수 있음)
+        if (value > maxValue) maxValue = value;
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getSum() {
+        return totalSum.sum();
+    }
+
+    public long getMax() {
+        return maxValue;
+    }
+
+    /**
+     * 현재까지 기록된 값들의 스냅샷, 백분위수 계산은 스냅샷 위에서 함
+     */
+    public Snapshot snapshot() {
+        long[] copied = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copied[i] = counts.get(i);
+            count += copied[i];
+        }
+        return new Snapshot(copied, count, maxValue);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKET_COUNT) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKET_COUNT - 1;
+
+        // 최상위 비트 바로 아래의 SUB_BUCKET_BITS 비트가 해당 구간 내의 버킷 번호가 됨
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_BUCKET_COUNT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // 해당 버킷에 들어갈 수 있는 가장 큰 값
+    static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKET_COUNT) return index;
+
+        int exponent = (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + LINEAR_BITS;
+        int subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long bucketWidth = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * bucketWidth - 1;
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @param percentile 0 ~ 100 사이의 백분위 (ex. 99.9)
+         * @return 해당 백분위에 해당하는 값 (버킷의 상한값, 최대값을 넘지 않음)
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) return 0;
+
+            long targetCount = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * count);
+            if (targetCount < 1) targetCount = 1;
+
+            long accumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i];
+                if (accumulated >= targetCount) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
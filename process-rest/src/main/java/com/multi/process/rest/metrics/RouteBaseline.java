@@ -0,0 +1,44 @@
+package com.multi.process.rest.metrics;
+
+/**
+ * 라우트 하나의 평소 값(기준치)을 지수 가중 이동 평균(EWMA)과 이동 분산으로 추적함
+ *
+ * 초반엔 단순 평균으로 빠르게 수렴시키고, 요청이 1/alpha 개를 넘어가면 alpha 가중치의 이동 평균이 됨
+ * 갱신은 라우트 단위로 동기화되며, 연산이 몇 번의 곱셈뿐이라 경합 비용이 작음
+ */
+public class RouteBaseline {
+    private final double alpha;
+
+    private long count = 0;
+    private double mean = 0;
+    private double variance = 0;
+
+    public RouteBaseline(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public synchronized void update(double value) {
+        count++;
+        double weight = Math.max(alpha, 1D / count);
+        double diff = value - mean;
+        double increment = weight * diff;
+        mean += increment;
+        variance = (1 - weight) * (variance + diff * increment);
+    }
+
+    /**
+     * 평균 + sigma * 표준편차, 기준치가 쌓이지 않았다면 -1
+     */
+    public synchronized double getUpperBound(double sigma, long minSamples) {
+        if (count < minSamples) return -1;
+        return mean + sigma * Math.sqrt(variance);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMean() {
+        return mean;
+    }
+}
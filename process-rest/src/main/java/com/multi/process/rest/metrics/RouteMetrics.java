@@ -0,0 +1,62 @@
+package com.multi.process.rest.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 라우트(메서드 + URL 패턴) 하나에 대한 HTTP 지표
+ * 응답 시간(나노초), 리스폰스 바이트 수, 상태 코드를 락 없이 기록함
+ */
+public class RouteMetrics {
+    private final String route;
+    private final long createdMillis = System.currentTimeMillis();
+
+    private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+    private final LogLinearHistogram responseBytes = new LogLinearHistogram();
+    // 1xx ~ 5xx 상태 코드 구간별 카운트, 0번은 그 외의 상태 코드
+    private final LongAdder[] statusCounts = new LongAdder[6];
+    private volatile long lastRecordedMillis;
+
+    RouteMetrics(String route) {
+        this.route = route;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedNanos, long bytes, int status) {
+        latencyNanos.record(elapsedNanos);
+        if (bytes >= 0) responseBytes.record(bytes);
+
+        int statusClass = status / 100;
+        statusCounts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+
+        lastRecordedMillis = System.currentTimeMillis();
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public long getLastRecordedMillis() {
+        return lastRecordedMillis;
+    }
+
+    public LogLinearHistogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public LogLinearHistogram getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @param statusClass 1 ~ 5 (1xx ~ 5xx), 그 외는 0
+     */
+    public long getStatusCount(int statusClass) {
+        return statusCounts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].sum();
+    }
+}
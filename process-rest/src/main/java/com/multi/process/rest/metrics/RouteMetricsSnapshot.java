@@ -0,0 +1,34 @@
+package com.multi.process.rest.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * 메트릭 엔드포인트로 내보내는 라우트별 지표 요약
+ * 시간은 밀리초, 크기는 바이트 단위
+ */
+@Getter
+@Setter
+public class RouteMetricsSnapshot {
+    private String route;
+    private long count;
+    // 첫 요청 이후 초당 처리량
+    private double throughputPerSecond;
+
+    private double meanMillis;
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+
+    private long totalBytes;
+    private long p50Bytes;
+    private long p99Bytes;
+    private long maxBytes;
+
+    // "2xx", "4xx" 등 상태 코드 구간별 카운트
+    private Map<String, Long> statusCounts;
+}
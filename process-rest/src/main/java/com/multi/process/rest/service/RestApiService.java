@@ -1,47 +1,234 @@
 package com.multi.process.rest.service;
 
 import com.multi.process.rest.annotation.RestServer;
-import com.multi.properties.ProjectData;
+import com.multi.process.rest.client.AsyncRestClient;
+import com.multi.process.rest.client.RestBatchRequest;
+import com.multi.process.rest.client.RestBatchResult;
+import com.multi.process.rest.client.RestEndpoint;
+import com.multi.process.rest.client.RestEndpoints;
+import com.multi.process.rest.client.RestResponseCache;
+import com.multi.process.rest.client.RestServerGuard;
+import com.multi.process.rest.client.RestServerGuards;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
 @Service
 public class RestApiService<T> {
+    // 스트림 복사에 사용하는 버퍼 크기, 동기 호출은 호출한 스레드에서 복사하므로 스레드마다 버퍼 하나를 재사용함
+    private static final int STREAM_BUFFER_SIZE = 8 * 1024;
+    private static final ThreadLocal<byte[]> STREAM_BUFFER = ThreadLocal.withInitial(() -> new byte[STREAM_BUFFER_SIZE]);
+
     private RestTemplate restTemplate;
-    @Autowired private ProjectData projectData;
+    @Autowired @Qualifier("bufferingRestTemplate") private RestTemplate bufferingRestTemplate;
+    @Autowired private RestEndpoints restEndpoints;
+    @Autowired private AsyncRestClient asyncRestClient;
+    @Autowired private RestServerGuards restServerGuards;
+    @Autowired private RestResponseCache restResponseCache;
     @Autowired
     public RestApiService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
     public ResponseEntity<T> get(String url) {
-        return callApiEndpoint(url, HttpMethod.GET,null, (Class<T>)Object.class);
+        return callApiEndpoint(RestServer.GOOGLE_AUTH, url, HttpMethod.GET,null, (Class<T>)Object.class);
     }
     public ResponseEntity<T> get(String url, Object params) {
         //Object params 벗겨내서 url 셋팅진행.
-        return callApiEndpoint(url, HttpMethod.GET,null, (Class<T>)Object.class);
+        return callApiEndpoint(RestServer.GOOGLE_AUTH, url, HttpMethod.GET,null, (Class<T>)Object.class);
     }
     public ResponseEntity<T> get(String url, Class<T> clazz) {
-        return callApiEndpoint(url, HttpMethod.GET, null, clazz);
+        return callApiEndpoint(RestServer.GOOGLE_AUTH, url, HttpMethod.GET, null, clazz);
+    }
+    public ResponseEntity<T> get(RestServer server, String url, Class<T> clazz) {
+        return callApiEndpoint(server, url, HttpMethod.GET, null, clazz);
     }
     public ResponseEntity<T> post(String url, HttpHeaders httpHeaders, Object body) {
-        return callApiEndpoint(url, HttpMethod.POST, body,(Class<T>)Object.class);
+        return callApiEndpoint(RestServer.GOOGLE_AUTH, url, HttpMethod.POST, body,(Class<T>)Object.class);
     }
     public ResponseEntity<T> post(String url , Object body, Class<T> clazz) {
-        return callApiEndpoint(url, HttpMethod.POST, body, clazz);
-    }
-    private ResponseEntity<T> callApiEndpoint(String url, HttpMethod httpMethod, Object body, Class<T> clazz) {
-//        String pullUrl =  projectData.getServers().getUrl().get(RestServer.GOOGLE_AUTH.getKey()) + url;
-        String pullUrl =  projectData.getServers().getUrl().get(RestServer.GOOGLE_AUTH.getKey()) + url;
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
-        headers.set("Content-Type", "application/json;charset=UTF-8");
-        return restTemplate.exchange(pullUrl, httpMethod, new HttpEntity<>( body, headers), clazz);
+        return callApiEndpoint(RestServer.GOOGLE_AUTH, url, HttpMethod.POST, body, clazz);
+    }
+    public ResponseEntity<T> post(RestServer server, String url, Object body, Class<T> clazz) {
+        return callApiEndpoint(server, url, HttpMethod.POST, body, clazz);
+    }
+
+    /**
+     * 요청 / 응답을 메모리에 버퍼링하는 RestTemplate 으로 호출함, 바디를 로깅하는 인터셉터 등 응답을 두번 읽어야 할 때만 사용함
+     */
+    public ResponseEntity<T> exchangeBuffered(RestServer server, String url, HttpMethod httpMethod, HttpHeaders httpHeaders, Object body, Class<T> clazz) {
+        return callApiEndpoint(bufferingRestTemplate, server, url, httpMethod, body, httpHeaders, clazz);
+    }
+
+    /**
+     * 응답 바디를 힙에 모으지 않고 extractor 에게 업스트림의 InputStream(response.getBody())을 그대로 넘겨줌
+     * 스트림은 extractor 안에서만 유효하며, extractor 가 끝나면 커넥션은 풀로 반환됨
+     * 4xx, 5xx 응답은 extractor 를 호출하지 않고 HttpClientErrorException, HttpServerErrorException 을 던짐
+     */
+    public <R> R stream(RestServer server, String url, HttpHeaders httpHeaders, ResponseExtractor<R> extractor) {
+        RestEndpoint endpoint = restEndpoints.get(server);
+        URI uri = endpoint.resolve(url);
+        HttpHeaders headers = endpoint.mergeHeaders(httpHeaders);
+
+        // 응답이 도착한 뒤 extractor 에서 난 예외(클라이언트가 다운로드를 끊어서 target 에 쓰지 못한 경우 등)는 업스트림 장애가 아니므로
+        // RestTemplate 이 ResourceAccessException 으로 감싸더라도 서킷 브레이커에 실패로 기록하지 않음
+        AtomicBoolean responded = new AtomicBoolean();
+        return guarded(server, () -> restTemplate.execute(uri, HttpMethod.GET, request -> request.getHeaders().putAll(headers), response -> {
+            responded.set(true);
+            return extractor.extractData(response);
+        }), responded);
+    }
+    /**
+     * 응답 바디를 고정 크기 버퍼를 거쳐 target 으로 바로 흘려보냄, 파일이나 리포트를 그대로 클라이언트에게 전달할 때 사용함
+     * 응답 크기와 상관없이 버퍼 하나만큼의 메모리만 사용하며, target 으로 쓰여진 바이트 수를 돌려줌 (target 은 닫지 않음)
+     */
+    public long download(RestServer server, String url, OutputStream target) {
+        return stream(server, url, null, response -> copy(response.getBody(), target));
+    }
+    public long download(RestServer server, String url, WritableByteChannel target) {
+        return stream(server, url, null, response -> copy(response.getBody(), target));
+    }
+
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = STREAM_BUFFER.get();
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            count += read;
+        }
+        out.flush();
+        return count;
+    }
+    private static long copy(InputStream in, WritableByteChannel out) throws IOException {
+        byte[] buffer = STREAM_BUFFER.get();
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+            while (byteBuffer.hasRemaining()) out.write(byteBuffer);
+            count += read;
+        }
+        return count;
+    }
+
+    /**
+     * 비동기 호출, 응답을 기다리는 동안 호출한 스레드를 잡아두지 않으므로 여러 서버를 동시에 호출할 때 사용함
+     * ex) CompletableFuture.allOf(restApiService.getAsync(GOOGLE_AUTH, ...), restApiService.getAsync(KAKAO_AUTH, ...))
+     */
+    public CompletableFuture<ResponseEntity<T>> getAsync(RestServer server, String url, Class<T> clazz) {
+        return asyncRestClient.exchange(server, url, HttpMethod.GET, null, null, clazz);
+    }
+    public CompletableFuture<ResponseEntity<T>> postAsync(RestServer server, String url, Object body, Class<T> clazz) {
+        return asyncRestClient.exchange(server, url, HttpMethod.POST, body, null, clazz);
+    }
+    public CompletableFuture<ResponseEntity<T>> exchangeAsync(RestServer server, String url, HttpMethod httpMethod, HttpHeaders httpHeaders, Object body, Class<T> clazz) {
+        return asyncRestClient.exchange(server, url, httpMethod, body, httpHeaders, clazz);
+    }
+    /**
+     * 응답 바디를 메모리에 모으지 않고 target 으로 바로 흘려보내는 비동기 호출, 결과의 바디는 쓰여진 바이트 수
+     */
+    public CompletableFuture<ResponseEntity<Long>> downloadAsync(RestServer server, String url, OutputStream target) {
+        return asyncRestClient.download(server, url, null, target);
+    }
+
+    /**
+     * 같은 서버로 보내는 여러 요청을 한번에 처리함, 요청들을 keep-alive 커넥션 위에서 batchParallelism 개씩 동시에 보냄
+     * 결과는 requests 와 같은 순서이며, 실패한 요청은 해당 결과에 CommonException 으로 담김
+     * ex) restApiService.batch(GOOGLE_AUTH, ids.stream().map(id -> RestBatchRequest.get("/v1/user/" + id)).collect(toList()), UserVo.class)
+     */
+    public List<RestBatchResult<T>> batch(RestServer server, List<RestBatchRequest> requests, Class<T> clazz) {
+        return asyncRestClient.exchangeAll(server, requests, clazz).join();
+    }
+    public CompletableFuture<List<RestBatchResult<T>>> batchAsync(RestServer server, List<RestBatchRequest> requests, Class<T> clazz) {
+        return asyncRestClient.exchangeAll(server, requests, clazz);
+    }
+
+    /**
+     * 응답 캐시를 사용하는 GET 호출, 업스트림의 Cache-Control(max-age, no-store), ETag 를 따라 캐싱하고 재검증함
+     * 같은 URL 이라도 헤더에 따라 응답이 달라진다면, 해당 헤더를 varyHeaders 로 넘겨서 캐시 키에 포함시켜야 함
+     */
+    public ResponseEntity<T> getCached(RestServer server, String url, Class<T> clazz) {
+        return getCached(server, url, null, clazz);
+    }
+    public ResponseEntity<T> getCached(RestServer server, String url, HttpHeaders varyHeaders, Class<T> clazz) {
+        StringBuilder key = new StringBuilder(server.getKey()).append(' ').append(url);
+        if (varyHeaders != null) key.append(' ').append(varyHeaders);
+
+        return restResponseCache.get(key.toString(), conditionalHeaders -> {
+            HttpHeaders headers = new HttpHeaders();
+            if (varyHeaders != null) headers.putAll(varyHeaders);
+            headers.putAll(conditionalHeaders);
+            // 캐싱을 위한 호출이므로 기본 헤더의 no-store 를 덮어씀 (Cache-Control 이 있으면 Pragma 는 무시됨)
+            headers.set("Cache-Control", "max-age=0");
+
+            return callApiEndpoint(server, url, HttpMethod.GET, null, headers, byte[].class);
+        }, clazz);
+    }
+
+    private ResponseEntity<T> callApiEndpoint(RestServer server, String url, HttpMethod httpMethod, Object body, Class<T> clazz) {
+        return callApiEndpoint(restTemplate, server, url, httpMethod, body, null, clazz);
+    }
+    private <R> ResponseEntity<R> callApiEndpoint(RestServer server, String url, HttpMethod httpMethod, Object body, HttpHeaders httpHeaders, Class<R> clazz) {
+        return callApiEndpoint(restTemplate, server, url, httpMethod, body, httpHeaders, clazz);
+    }
+
+    /**
+     * @param httpHeaders 기본 헤더(Cache-Control, Pragma, Content-Type, restClient.server.*.headers) 외에 추가하거나 덮어쓸 헤더, 없으면 null
+     */
+    private <R> ResponseEntity<R> callApiEndpoint(RestTemplate restTemplate, RestServer server, String url, HttpMethod httpMethod, Object body, HttpHeaders httpHeaders, Class<R> clazz) {
+        // URL, 기본 헤더는 시작할 때 해석해둔 RestEndpoint 를 사용하고, 추가할 헤더가 없으면 기본 헤더를 그대로 공유함
+        RestEndpoint endpoint = restEndpoints.get(server);
+        URI uri = endpoint.resolve(url);
+        HttpHeaders headers = endpoint.mergeHeaders(httpHeaders);
+
+        return guarded(server, () -> restTemplate.exchange(uri, httpMethod, new HttpEntity<>( body, headers), clazz));
+    }
+
+    // 서킷이 열려있거나 동시 호출 수가 가득 찼다면 요청을 보내지 않고 바로 실패함 (CommonException, ERROR_INTERNAL_SERVER_DEAD)
+    private <R> R guarded(RestServer server, Supplier<R> call) {
+        return guarded(server, call, null);
+    }
+    /**
+     * @param responded 업스트림의 응답이 도착했는지 여부, true 가 된 뒤에 난 예외는 서버 장애로 기록하지 않음 (없으면 null)
+     */
+    private <R> R guarded(RestServer server, Supplier<R> call, AtomicBoolean responded) {
+        RestServerGuard guard = restServerGuards.get(server);
+        long permit = guard.acquire();
+        boolean recorded = false;
+        try {
+            R result = call.get();
+            guard.onSuccess(permit);
+            recorded = true;
+            return result;
+        } catch (RuntimeException e) {
+            if (RestServerGuards.isServerFailure(e) && (responded == null || !responded.get())) {
+                guard.onFailure(permit);
+            } else {
+                guard.onSuccess(permit);
+            }
+            recorded = true;
+            throw e;
+        } finally {
+            // Error 등 결과를 기록하지 못하고 빠져나가는 경우에도 벌크헤드, half-open 자리는 반드시 돌려줌
+            if (!recorded) guard.release(permit);
+        }
     }
 }
@@ -0,0 +1,162 @@
+package com.multi.process.rest.util;
+
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Map;
+
+/**
+ * 리퀘스트 바디를 로깅하기 위한 HttpServletRequestWrapper
+ *
+ * ContentCachingRequestWrapper 처럼 읽은 바디 전체를 힙에 쌓아두지 않고, 로깅을 위해 앞부분(captureLimit 바이트)만 복사해둠
+ */
+public class BodyCaptureRequestWrapper extends HttpServletRequestWrapper {
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final int captureLimit;
+    private final ByteArrayOutputStream capturedBody;
+    private long readCount = 0;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public BodyCaptureRequestWrapper(HttpServletRequest request, int captureLimit) {
+        super(request);
+        this.captureLimit = Math.max(captureLimit, 0);
+        this.capturedBody = new ByteArrayOutputStream(Math.min(this.captureLimit, 1024));
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CaptureInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String characterEncoding = getCharacterEncoding();
+            if (characterEncoding == null) characterEncoding = WebUtils.DEFAULT_CHARACTER_ENCODING;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), characterEncoding));
+        }
+        return reader;
+    }
+
+    /**
+     * 복사해둔 리퀘스트 바디의 앞부분 (최대 captureLimit 바이트)
+     */
+    public byte[] getCapturedBody() {
+        return capturedBody.toByteArray();
+    }
+
+    /**
+     * 서블릿에서 바디를 한번도 읽지 않았다면 (@RequestBody 미사용 등...) 로깅을 위해 앞부분만 직접 읽어서 복사함
+     * 폼 파라미터를 getParameter() 로 읽은 경우엔 컨테이너가 바디를 이미 소비했으므로, 파라미터를 폼 형식으로 다시 만들어 복사함
+     *
+     * @return 복사해둔 리퀘스트 바디의 앞부분
+     */
+    public byte[] readCapturedBody() throws IOException {
+        if (capturedBody.size() == 0 && reader == null && getContentLength() > 0) {
+            ServletInputStream input = getInputStream();
+            byte[] buffer = new byte[Math.max(Math.min(captureLimit, 1024), 1)];
+            int remaining;
+            while ((remaining = captureLimit - capturedBody.size()) > 0) {
+                if (input.read(buffer, 0, Math.min(buffer.length, remaining)) == -1) break;
+            }
+        }
+
+        if (capturedBody.size() == 0 && isFormPost()) {
+            writeParametersToCapturedBody();
+        }
+
+        return getCapturedBody();
+    }
+
+    /**
+     * 리퀘스트 바디가 captureLimit 보다 커서 앞부분만 복사되었는지 여부
+     */
+    public boolean isTruncated() {
+        return Math.max(getContentLengthLong(), readCount) > capturedBody.size();
+    }
+
+    private boolean isFormPost() {
+        String contentType = getContentType();
+        return contentType != null && contentType.contains(FORM_CONTENT_TYPE) && "POST".equalsIgnoreCase(getMethod());
+    }
+
+    private void writeParametersToCapturedBody() throws UnsupportedEncodingException {
+        String characterEncoding = getCharacterEncoding();
+        if (characterEncoding == null) characterEncoding = WebUtils.DEFAULT_CHARACTER_ENCODING;
+
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : getParameterMap().entrySet()) {
+            if (form.length() >= captureLimit) break;
+            for (String value : parameter.getValue()) {
+                if (form.length() > 0) form.append('&');
+                form.append(URLEncoder.encode(parameter.getKey(), characterEncoding));
+                if (value != null) {
+                    form.append('=').append(URLEncoder.encode(value, characterEncoding));
+                }
+                if (form.length() >= captureLimit) break;
+            }
+        }
+
+        byte[] formBytes = form.toString().getBytes(characterEncoding);
+        capturedBody.write(formBytes, 0, Math.min(formBytes.length, captureLimit));
+    }
+
+    private class CaptureInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        private CaptureInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                readCount++;
+                if (capturedBody.size() < captureLimit) capturedBody.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                readCount += count;
+                int remaining = captureLimit - capturedBody.size();
+                if (remaining > 0) capturedBody.write(b, off, Math.min(count, remaining));
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
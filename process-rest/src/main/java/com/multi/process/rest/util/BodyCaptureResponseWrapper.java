@@ -0,0 +1,95 @@
+package com.multi.process.rest.util;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * 리스폰스 바디를 로깅하기 위한 HttpServletResponseWrapper
+ *
+ * ContentCachingResponseWrapper 처럼 바디 전체를 힙에 쌓아두지 않고, 쓰여지는 즉시 클라이언트로 내보냄
+ * 로깅을 위해 앞부분(captureLimit 바이트)만 복사해두고, 전체 바이트 수는 CountingResponseWrapper 에서 셈
+ * 따라서 엑셀 다운로드 등의 대용량 리스폰스도 일정한 메모리로 스트리밍되며, 첫 바이트가 늦게 나가지 않음
+ */
+public class BodyCaptureResponseWrapper extends CountingResponseWrapper {
+    private final int captureLimit;
+    private CaptureOutputStream captureOutputStream;
+
+    public BodyCaptureResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captureLimit = Math.max(captureLimit, 0);
+    }
+
+    @Override
+    protected CountingServletOutputStream createOutputStream(ServletOutputStream delegate) {
+        captureOutputStream = new CaptureOutputStream(delegate, captureLimit);
+        return captureOutputStream;
+    }
+
+    /**
+     * 복사해둔 리스폰스 바디의 앞부분 (최대 captureLimit 바이트)
+     */
+    public byte[] getCapturedBody() {
+        flushWriter();
+        return captureOutputStream == null ? new byte[0] : captureOutputStream.toByteArray();
+    }
+
+    /**
+     * 리스폰스 바디가 captureLimit 보다 커서 앞부분만 복사되었는지 여부
+     */
+    public boolean isTruncated() {
+        return getByteCount() > captureLimit;
+    }
+
+    private static class CaptureOutputStream extends CountingServletOutputStream {
+        private final int captureLimit;
+        private ByteArrayOutputStream capturedBody;
+
+        private CaptureOutputStream(ServletOutputStream delegate, int captureLimit) {
+            super(delegate);
+            this.captureLimit = captureLimit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            super.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        protected void resetByteCount() {
+            super.resetByteCount();
+            if (capturedBody != null) capturedBody.reset();
+        }
+
+        private void capture(int b) {
+            if (getCapturedBody().size() < captureLimit) {
+                capturedBody.write(b);
+            }
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            int remaining = captureLimit - getCapturedBody().size();
+            if (remaining > 0) {
+                capturedBody.write(b, off, Math.min(len, remaining));
+            }
+        }
+
+        // 바디가 없는 리스폰스에선 버퍼를 만들지 않도록 처음 쓰여질 때 생성함
+        private ByteArrayOutputStream getCapturedBody() {
+            if (capturedBody == null) capturedBody = new ByteArrayOutputStream(Math.min(captureLimit, 1024));
+            return capturedBody;
+        }
+
+        private byte[] toByteArray() {
+            return capturedBody == null ? new byte[0] : capturedBody.toByteArray();
+        }
+    }
+}
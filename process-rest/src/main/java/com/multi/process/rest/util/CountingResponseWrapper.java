@@ -0,0 +1,88 @@
+package com.multi.process.rest.util;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 리스폰스로 쓰여진 바이트 수를 세는 HttpServletResponseWrapper
+ *
+ * MessageConverter 가 리스폰스 객체를 직렬화하면서 쓴 바이트를 그대로 세기 때문에
+ * HttpLogger 에서 리스폰스 크기를 알기 위해 리스폰스 객체를 다시 JSON 으로 직렬화할 필요가 없음
+ */
+public class CountingResponseWrapper extends HttpServletResponseWrapper {
+    private CountingServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CountingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return getCountingOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(getCountingOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (outputStream != null) outputStream.resetByteCount();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (outputStream != null) outputStream.resetByteCount();
+    }
+
+    /**
+     * 지금까지 리스폰스로 쓰여진 바이트 수
+     */
+    public long getByteCount() {
+        // Writer 를 사용한 경우 인코더에 남아있는 문자까지 내보낸 뒤 셈
+        flushWriter();
+        return outputStream == null ? 0 : outputStream.getByteCount();
+    }
+
+    /**
+     * getWriter() 로 쓴 문자 중 래퍼의 Writer 에 남아있는 내용을 원본 스트림으로 내보냄
+     * 컨테이너는 래퍼의 Writer 를 알지 못하므로, 필터가 끝나기 전에 호출해야 내용이 유실되지 않음
+     */
+    public void flushWriter() {
+        if (writer != null) writer.flush();
+    }
+
+    protected CountingServletOutputStream getCountingOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = createOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    protected CountingServletOutputStream createOutputStream(ServletOutputStream delegate) {
+        return new CountingServletOutputStream(delegate);
+    }
+}
@@ -0,0 +1,58 @@
+package com.multi.process.rest.util;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+
+/**
+ * 실제 OutputStream 으로 쓰여진 바이트 수를 세는 ServletOutputStream
+ * 쓰기 동작은 그대로 원본 스트림에 위임함
+ */
+public class CountingServletOutputStream extends ServletOutputStream {
+    private final ServletOutputStream delegate;
+    private long byteCount = 0;
+
+    public CountingServletOutputStream(ServletOutputStream delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        delegate.write(b);
+        byteCount++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        delegate.write(b, off, len);
+        byteCount += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        delegate.setWriteListener(writeListener);
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    protected void resetByteCount() {
+        byteCount = 0;
+    }
+}
@@ -0,0 +1,244 @@
+package com.multi.process.rest.util;
+
+import com.multi.properties.HttpLog;
+import com.multi.properties.HttpLog.OverflowPolicy;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.multi.process.rest.util.HttpLogger.captureHttpLog;
+import static com.multi.process.rest.util.HttpLogger.isImportantLog;
+import static com.multi.process.rest.util.HttpLogger.writeHttpLog;
+
+/**
+ * HttpLogger 의 로그를 리퀘스트 스레드 밖에서 기록하기 위한 디스패처
+ *
+ * 비동기 모드일 경우 리퀘스트 스레드에서는 미리 만들어둔 HttpLogRecord 에 값만 수집하여 큐에 넣고
+ * 문자열 포맷팅, JSON 직렬화, 로그 출력은 별도의 "http-log-writer" 스레드에서 처리함
+ *  - 레코드는 queueSize 만큼 미리 생성해두고 재사용하므로, 빈 레코드가 없으면 큐가 가득 찬 상태임
+ *  - 큐가 가득 찼을 땐 HttpLog.OverflowPolicy 에 따라 드랍하거나, 잠시 기다리거나, 리퀘스트 스레드에서 직접 기록함
+ *  - 크리티컬한 에러/상태코드의 로그는 정책과 상관없이 드랍하지 않고 리퀘스트 스레드에서 직접 기록함
+ *
+ * 동기 모드일 경우 기존과 동일하게 HttpLogger.writeHttpLog(request, response) 를 바로 호출함
+ *
+ * 로깅 여부는 HttpLogPolicy 의 라우트별 샘플링/초당 로그 수 제한을 거쳐서 정하므로, 걸러진 리퀘스트는 값 수집조차 하지 않음
+ */
+@Slf4j
+public class HttpLogDispatcher {
+    private static final long DROP_REPORT_INTERVAL_MILLIS = 1000 * 60; // 1분
+
+    private final boolean async;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final long lateThresholdNanos;
+    private final HttpLogPolicy httpLogPolicy;
+
+    // 빈 레코드 풀과 기록 대기중인 레코드 큐, 둘 다 queueSize 크기의 링버퍼(ArrayBlockingQueue)
+    private final BlockingQueue<HttpLogRecord> freeRecords;
+    private final BlockingQueue<HttpLogRecord> pendingRecords;
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    private final LongAdder capturedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder lateCount = new LongAdder();
+    private final LongAdder callerRunsCount = new LongAdder();
+
+    private long reportedDroppedCount = 0;
+    private long lastDropReportMillis = 0;
+
+    public HttpLogDispatcher(HttpLog httpLog) {
+        if (httpLog == null) httpLog = new HttpLog();
+
+        this.async = httpLog.isAsync();
+        this.overflowPolicy = httpLog.getOverflowPolicy() == null ? OverflowPolicy.DROP : httpLog.getOverflowPolicy();
+        this.blockTimeoutMillis = httpLog.getBlockTimeoutMillis();
+        this.lateThresholdNanos = TimeUnit.MILLISECONDS.toNanos(httpLog.getLateThresholdMillis());
+        this.httpLogPolicy = new HttpLogPolicy(httpLog);
+
+        if (async) {
+            int queueSize = Math.max(httpLog.getQueueSize(), 1);
+            this.freeRecords = new ArrayBlockingQueue<>(queueSize);
+            this.pendingRecords = new ArrayBlockingQueue<>(queueSize);
+            for (int i = 0; i < queueSize; i++) {
+                freeRecords.offer(new HttpLogRecord());
+            }
+
+            this.running = true;
+            this.writerThread = new Thread(this::writeLoop, "http-log-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        } else {
+            this.freeRecords = null;
+            this.pendingRecords = null;
+            this.writerThread = null;
+        }
+    }
+
+    /**
+     * 리퀘스트/리스폰스 로깅 (필터에서 호출)
+     */
+    public void dispatch(HttpServletRequest request, HttpServletResponse response) {
+        if (!httpLogPolicy.isLoggableRequest(request, response)) return;
+
+        if (!async || !running) {
+            HttpLogRecord record = new HttpLogRecord();
+            captureHttpLog(request, response, record);
+            writeHttpLog(record, new StringBuilder());
+            return;
+        }
+
+        capturedCount.increment();
+
+        HttpLogRecord record = acquireRecord();
+        if (record == null) {
+            if (overflowPolicy == OverflowPolicy.CALLER_RUNS || isImportantLog(request, response)) {
+                // 빈 자리가 없더라도 반드시 남겨야 하는 로그는 리퀘스트 스레드에서 직접 기록함
+                callerRunsCount.increment();
+                HttpLogRecord callerRecord = new HttpLogRecord();
+                captureHttpLog(request, response, callerRecord);
+                writeHttpLog(callerRecord, new StringBuilder());
+                writtenCount.increment();
+            } else {
+                droppedCount.increment();
+            }
+            return;
+        }
+
+        try {
+            captureHttpLog(request, response, record);
+        } catch (RuntimeException e) {
+            record.reset();
+            freeRecords.offer(record);
+            throw e;
+        }
+        // 레코드 수와 큐 크기가 같으므로 항상 성공함
+        pendingRecords.offer(record);
+        // shutdown() 과 경합하여 소비 스레드가 이미 종료됐을 수 있으므로, 종료 중이라면 남은 레코드를 직접 기록함
+        if (!running) drainPending(new StringBuilder());
+    }
+
+    private HttpLogRecord acquireRecord() {
+        HttpLogRecord record = freeRecords.poll();
+        if (record == null && overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                record = freeRecords.poll(blockTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return record;
+    }
+
+    private void writeLoop() {
+        // 로그 문자열 버퍼는 소비 스레드에서 재사용함
+        StringBuilder buffer = new StringBuilder(1024);
+
+        while (running || !pendingRecords.isEmpty()) {
+            HttpLogRecord record;
+            try {
+                record = pendingRecords.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // shutdown() 시 인터럽트되며, 남은 레코드는 모두 기록한 뒤 종료함
+                continue;
+            }
+
+            if (record != null) writeRecord(record, buffer);
+            reportDropped();
+        }
+    }
+
+    private void writeRecord(HttpLogRecord record, StringBuilder buffer) {
+        try {
+            if (System.nanoTime() - record.capturedNanos > lateThresholdNanos) {
+                lateCount.increment();
+            }
+
+            buffer.setLength(0);
+            writeHttpLog(record, buffer);
+            writtenCount.increment();
+        } catch (Exception e) {
+            log.error("Failed to write http log", e);
+        } finally {
+            record.reset();
+            freeRecords.offer(record);
+        }
+    }
+
+    // 큐에 남은 레코드를 호출한 스레드에서 기록함, 레코드는 poll() 로 꺼내므로 소비 스레드와 동시에 호출되어도 중복 기록되지 않음
+    private void drainPending(StringBuilder buffer) {
+        HttpLogRecord record;
+        while ((record = pendingRecords.poll()) != null) {
+            writeRecord(record, buffer);
+        }
+    }
+
+    // 드랍된 로그가 있다면 일정 주기로 드랍된 개수를 WARN 레벨로 알려줌
+    private void reportDropped() {
+        long now = System.currentTimeMillis();
+        if (now - lastDropReportMillis < DROP_REPORT_INTERVAL_MILLIS) return;
+
+        long dropped = droppedCount.sum();
+        if (dropped > reportedDroppedCount) {
+            log.warn("{} http log record(s) dropped since last report (total {}, late {})", dropped - reportedDroppedCount, dropped, lateCount.sum());
+            reportedDroppedCount = dropped;
+        }
+        lastDropReportMillis = now;
+    }
+
+    /**
+     * 소비 스레드를 종료함, 큐에 남은 로그는 모두 기록한 뒤 종료됨
+     * 스프링 빈으로 등록된 경우 컨텍스트 종료 시 자동으로 호출됨
+     */
+    public void shutdown() {
+        if (!async || !running) return;
+
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 소비 스레드가 시간 안에 끝나지 못했거나, 종료 직전에 들어온 레코드가 있다면 여기서 마저 기록함
+        drainPending(new StringBuilder());
+    }
+
+    public HttpLogPolicy getHttpLogPolicy() {
+        return httpLogPolicy;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public long getCapturedCount() {
+        return capturedCount.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRunsCount.sum();
+    }
+
+    public int getPendingCount() {
+        return pendingRecords == null ? 0 : pendingRecords.size();
+    }
+}
@@ -0,0 +1,274 @@
+package com.multi.process.rest.util;
+
+import com.multi.properties.HttpLog;
+import com.multi.properties.HttpLog.RoutePolicy;
+import lombok.Getter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.multi.process.rest.util.HttpLogger.WARNING_INFO_LIST;
+import static com.multi.process.rest.util.HttpLogger.isImportantLog;
+import static com.multi.process.rest.util.HttpLogger.isLoggable;
+
+/**
+ * 라우트별 HTTP 로그 샘플링/초당 로그 수 제한 정책
+ *
+ * 트래픽이 많은 API 는 모든 요청을 INFO 레벨로 포맷팅하면 로그 비용이 트래픽에 비례해서 늘어나므로
+ * project-data.yml 의 httpLog.routePolicies 에 URL 패턴별로 로깅 비율(sampleRate)과 초당 최대 로그 수(maxPerSecond)를 지정함
+ *  - 크리티컬한 예외/상태코드 및 경고 플래그가 세워진 로그는 정책과 상관없이 항상 기록함
+ *  - URL 패턴은 기동 시 세그먼트 단위의 트리로 컴파일하며, 리퀘스트마다 URI 세그먼트 수만큼만 탐색함
+ *  - 여러 패턴에 매칭될 경우 고정 세그먼트 > 와일드카드(*, {변수}) > ** 순으로 더 구체적인 패턴을 사용함
+ *  - 메서드가 지정된 패턴("GET /v1/api/**")이 메서드가 지정되지 않은 같은 패턴보다 우선함
+ */
+public class HttpLogPolicy {
+    private static final String ANY_METHOD = "*";
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Node root = new Node();
+    private final List<RouteLogPolicy> policies = new ArrayList<>();
+    private final RouteLogPolicy defaultPolicy;
+
+    public HttpLogPolicy(HttpLog httpLog) {
+        if (httpLog == null) httpLog = new HttpLog();
+
+        Map<String, RoutePolicy> routePolicies = httpLog.getRoutePolicies() == null ? new LinkedHashMap<>() : httpLog.getRoutePolicies();
+
+        for (Map.Entry<String, RoutePolicy> entry : routePolicies.entrySet()) {
+            RoutePolicy routePolicy = entry.getValue() == null ? new RoutePolicy() : entry.getValue();
+            RouteLogPolicy policy = new RouteLogPolicy(entry.getKey(),
+                    routePolicy.getSampleRate() == null ? httpLog.getDefaultSampleRate() : routePolicy.getSampleRate(),
+                    routePolicy.getMaxPerSecond() == null ? httpLog.getDefaultMaxPerSecond() : routePolicy.getMaxPerSecond(),
+                    routePolicy.getBurst());
+            compile(entry.getKey(), policy);
+            policies.add(policy);
+        }
+
+        defaultPolicy = new RouteLogPolicy("default", httpLog.getDefaultSampleRate(), httpLog.getDefaultMaxPerSecond(), null);
+        policies.add(defaultPolicy);
+    }
+
+    /**
+     * 해당 리퀘스트/리스폰스를 로깅해야 하는지 여부 (HttpLogger.isLoggable 에 라우트별 정책을 더함)
+     * 헬스체크, 스웨거 등 HttpLogUtils.isExcludedRequest 의 제외 대상은 isLoggable 에서 먼저 걸러지므로, 중요 로그라도 기록하지 않음
+     */
+    public boolean isLoggableRequest(HttpServletRequest request, HttpServletResponse response) {
+        if (!isLoggable(request, response)) return false;
+
+        // 반드시 남겨야 하는 로그는 샘플링/제한에 걸리지 않음
+        if (isImportantLog(request, response) || request.getAttribute(WARNING_INFO_LIST) != null) return true;
+
+        return getPolicy(request.getMethod(), request.getRequestURI()).tryLog();
+    }
+
+    /**
+     * 해당 메서드/URI 에 적용되는 정책
+     */
+    public RouteLogPolicy getPolicy(String method, String uri) {
+        RouteLogPolicy policy = uri == null ? null : match(root, method, uri, skipSlashes(uri, 0));
+        return policy == null ? defaultPolicy : policy;
+    }
+
+    public List<RouteLogPolicy> getPolicies() {
+        return policies;
+    }
+
+    private void compile(String key, RouteLogPolicy policy) {
+        String method = ANY_METHOD;
+        String pattern = key.trim();
+
+        int space = pattern.indexOf(' ');
+        if (space > 0) {
+            method = pattern.substring(0, space).toUpperCase();
+            pattern = pattern.substring(space + 1).trim();
+        }
+
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) continue;
+            node = node.child(segment);
+        }
+        node.policies.put(method, policy);
+    }
+
+    // 트리를 깊이 우선으로 탐색함, 더 구체적인 자식부터 탐색하므로 처음 찾은 정책이 가장 구체적인 정책임
+    private RouteLogPolicy match(Node node, String method, String uri, int start) {
+        if (start >= uri.length()) {
+            RouteLogPolicy policy = node.getPolicy(method);
+            if (policy != null) return policy;
+
+            // "/a/**" 는 "/a" 에도 매칭됨
+            return node.doubleWildcard == null ? null : node.doubleWildcard.getPolicy(method);
+        }
+
+        int end = uri.indexOf('/', start);
+        if (end < 0) end = uri.length();
+        int next = skipSlashes(uri, end);
+
+        if (!node.literals.isEmpty()) {
+            Node literal = node.literals.get(uri.substring(start, end));
+            if (literal != null) {
+                RouteLogPolicy policy = match(literal, method, uri, next);
+                if (policy != null) return policy;
+            }
+        }
+
+        if (!node.patterns.isEmpty()) {
+            String segment = uri.substring(start, end);
+            for (Map.Entry<String, Node> entry : node.patterns.entrySet()) {
+                if (!pathMatcher.match(entry.getKey(), segment)) continue;
+
+                RouteLogPolicy policy = match(entry.getValue(), method, uri, next);
+                if (policy != null) return policy;
+            }
+        }
+
+        if (node.wildcard != null) {
+            RouteLogPolicy policy = match(node.wildcard, method, uri, next);
+            if (policy != null) return policy;
+        }
+
+        if (node.doubleWildcard != null) {
+            // ** 는 0개 이상의 세그먼트를 소비함
+            for (int position = start; ; ) {
+                RouteLogPolicy policy = match(node.doubleWildcard, method, uri, position);
+                if (policy != null) return policy;
+                if (position >= uri.length()) break;
+
+                int slash = uri.indexOf('/', position);
+                position = slash < 0 ? uri.length() : skipSlashes(uri, slash);
+            }
+        }
+
+        return null;
+    }
+
+    private static int skipSlashes(String uri, int index) {
+        while (index < uri.length() && uri.charAt(index) == '/') index++;
+        return index;
+    }
+
+    // URL 패턴 트리의 노드, 세그먼트 종류별로 자식을 나눠서 저장함
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, Node> patterns = new LinkedHashMap<>();
+        private final Map<String, RouteLogPolicy> policies = new HashMap<>();
+        private Node wildcard;
+        private Node doubleWildcard;
+
+        private Node child(String segment) {
+            if ("**".equals(segment)) {
+                if (doubleWildcard == null) doubleWildcard = new Node();
+                return doubleWildcard;
+            }
+            if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (wildcard == null) wildcard = new Node();
+                return wildcard;
+            }
+            if (segment.contains("*") || segment.contains("?") || segment.contains("{")) {
+                return patterns.computeIfAbsent(segment, key -> new Node());
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private RouteLogPolicy getPolicy(String method) {
+            if (policies.isEmpty()) return null;
+
+            RouteLogPolicy policy = policies.get(method);
+            return policy == null ? policies.get(ANY_METHOD) : policy;
+        }
+    }
+
+    /**
+     * 패턴 하나의 로그 정책 및 집계
+     *
+     * 초당 로그 수 제한은 토큰 버킷과 동일하게 동작하는 GCRA 방식으로, 다음 토큰이 생기는 시각 하나만 CAS 로 갱신하므로 락이 없음
+     */
+    public static class RouteLogPolicy {
+        @Getter
+        private final String pattern;
+        @Getter
+        private final double sampleRate;
+        @Getter
+        private final double maxPerSecond;
+        @Getter
+        private final int burst;
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+        private final LongAdder loggedCount = new LongAdder();
+        private final LongAdder sampledOutCount = new LongAdder();
+        private final LongAdder rateLimitedCount = new LongAdder();
+
+        RouteLogPolicy(String pattern, double sampleRate, double maxPerSecond, Integer burst) {
+            this.pattern = pattern;
+            this.sampleRate = sampleRate;
+            this.maxPerSecond = maxPerSecond;
+
+            if (maxPerSecond > 0) {
+                this.burst = Math.max(burst == null ? (int) Math.ceil(maxPerSecond) : burst, 1);
+                this.emissionIntervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond), 1);
+                this.burstToleranceNanos = emissionIntervalNanos * (this.burst - 1);
+            } else {
+                this.burst = 0;
+                this.emissionIntervalNanos = 0;
+                this.burstToleranceNanos = 0;
+            }
+        }
+
+        /**
+         * 샘플링, 초당 로그 수 제한을 통과했다면 true
+         */
+        public boolean tryLog() {
+            if (sampleRate < 1 && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+                sampledOutCount.increment();
+                return false;
+            }
+
+            if (emissionIntervalNanos > 0 && !tryAcquire()) {
+                rateLimitedCount.increment();
+                return false;
+            }
+
+            loggedCount.increment();
+            return true;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                long now = System.nanoTime();
+                long arrival = theoreticalArrivalNanos.get();
+                long base = arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival;
+
+                // 다음 토큰 시각이 허용 범위보다 미래라면 버킷이 비어있는 상태
+                if (base - now > burstToleranceNanos) return false;
+                if (theoreticalArrivalNanos.compareAndSet(arrival, base + emissionIntervalNanos)) return true;
+            }
+        }
+
+        public long getLoggedCount() {
+            return loggedCount.sum();
+        }
+
+        public long getSampledOutCount() {
+            return sampledOutCount.sum();
+        }
+
+        public long getRateLimitedCount() {
+            return rateLimitedCount.sum();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.multi.process.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리퀘스트 스레드에서 수집하는 HTTP 로그 레코드
+ *
+ * 문자열 포맷팅, JSON 직렬화 없이 로그에 필요한 원본 값과 바디의 참조만 담아두고
+ * 실제 로그 문자열은 HttpLogger.writeHttpLog(HttpLogRecord) 에서 만듦
+ *
+ * 비동기 모드에선 HttpLogDispatcher 가 풀링하여 재사용하므로, reset() 이후엔 이전 요청의 값을 참조하면 안됨
+ */
+public class HttpLogRecord {
+    // 리퀘스트 정보
+    String method;
+    String uri;
+    String queryString;
+    String ip;
+    boolean dryRun;
+    String requestContentType;
+    int requestContentLength;
+    byte[] requestBody;
+    boolean requestBodyTruncated;
+    String requestBodyError;
+    Map<String, String> requestHeaders;
+
+    // 리스폰스 정보
+    int responseStatus;
+    String responseContentType;
+    byte[] responseBody;
+    boolean responseBodyTruncated;
+    long responseSize = -1;
+    Object responseObject;
+    Map<String, String> responseHeaders;
+
+    // 시간 정보
+    boolean hasRequestStartTime;
+    long timeElapsed;
+    long capturedNanos;
+
+    // 경고 정보 (captureHttpLog 에서 리퀘스트 어트리뷰트의 리스트를 복사해서 담음, 로그를 쓰는 동안 리퀘스트 쪽에서 추가돼도 영향이 없음)
+    List<String> warningInfoList;
+
+    void addWarningInfo(String warningInfo) {
+        if (warningInfoList == null) warningInfoList = new ArrayList<>();
+        warningInfoList.add(warningInfo);
+    }
+
+    void reset() {
+        method = null;
+        uri = null;
+        queryString = null;
+        ip = null;
+        dryRun = false;
+        requestContentType = null;
+        requestContentLength = 0;
+        requestBody = null;
+        requestBodyTruncated = false;
+        requestBodyError = null;
+        requestHeaders = null;
+
+        responseStatus = 0;
+        responseContentType = null;
+        responseBody = null;
+        responseBodyTruncated = false;
+        responseSize = -1;
+        responseObject = null;
+        responseHeaders = null;
+
+        hasRequestStartTime = false;
+        timeElapsed = 0;
+        capturedNanos = 0;
+
+        warningInfoList = null;
+    }
+}
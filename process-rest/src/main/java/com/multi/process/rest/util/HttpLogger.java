@@ -7,13 +7,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
 
 import static com.multi.process.rest.util.HttpLogUtils.*;
@@ -50,6 +48,7 @@ import static org.apache.commons.lang3.StringUtils.*;
  *  - 대용량 리퀘스트 바디의 경우 바이트 수 표시
  *  - 대용량 리스폰스 바디의 경우 바이트 수 표시
  *  - 느린 리스폰스의 경우 리스폰스에 걸린 시간 표시
+ * 느리고 큰 기준은 라우트별 평소 값을 기준으로 AdaptiveWarningThresholds 에서 판단하여 필터에서 경고 플래그를 세움
  * 이때, 요청에 대한 분석을 용이하게 하기 위해 리퀘스트 로그도 WARN 레벨로 표시됨
  * (수동으로 HttpLogUtils.setWarningFlag() 를 사용해 리퀘스트 로그를 WARN 레벨로 만들 수도 있음)
  *
@@ -57,11 +56,6 @@ import static org.apache.commons.lang3.StringUtils.*;
  */
 @Slf4j
 public class HttpLogger {
-    // 대용량, 느린 요청/응답에 대한 로그를 남기고, 경고 레벨 로깅을 하기 위한 상수
-    private static final long LARGE_REQUEST_BODY_WARNING_SIZE = 1000*1000; // 약 1MB
-    private static final long LARGE_RESPONSE_BODY_WARNING_SIZE = 1000*1000; // 약 1MB
-    private static final long SLOW_RESPONSE_WARNING_MILLIS = 1000*3; // 3초
-
     // 내부적으로 로깅에 사용하는 Request Attribute 키값 상수
     public static final String REQUEST_START_TIME = "requestStartTime";
     public static final String RESPONSE_OBJECT = "responseObject";
@@ -72,34 +66,165 @@ public class HttpLogger {
      * 리퀘스트/리스폰스 로깅
      */
     public static void writeHttpLog(HttpServletRequest request, HttpServletResponse response) {
-        int responseStatus = response.getStatus();
-        Object responseObject = request.getAttribute(RESPONSE_OBJECT);
+        if (!isLoggable(request, response)) return;
 
-        boolean isImportantLog = isCriticalException(responseObject) || isImportantStatus(responseStatus);
+        HttpLogRecord record = new HttpLogRecord();
+        captureHttpLog(request, response, record);
+        writeHttpLog(record, new StringBuilder());
+    }
+
+    /**
+     * 해당 리퀘스트/리스폰스를 로깅해야 하는지 여부
+     */
+    public static boolean isLoggable(HttpServletRequest request, HttpServletResponse response) {
+        boolean isImportantLog = isImportantLog(request, response);
 
         // 로깅을 원치 않는 리퀘스트 혹은 INFO 이상의 레벨이라면 로그 미기록
         // 로그레벨이 INFO 이상이더라도 중요 예외 혹은 Status Code 발생 시 로그
-        if (isExcludedRequest(request) || !(log.isInfoEnabled() || isImportantLog)) return;
+        return !(isExcludedRequest(request) || !(log.isInfoEnabled() || isImportantLog));
+    }
+
+    /**
+     * 로그 레벨이 어떻든 간에 반드시 남겨야 하는 리퀘스트/리스폰스인지 여부
+     */
+    public static boolean isImportantLog(HttpServletRequest request, HttpServletResponse response) {
+        return isCriticalException(request.getAttribute(RESPONSE_OBJECT)) || isImportantStatus(response.getStatus());
+    }
+
+    /**
+     * 리퀘스트/리스폰스에서 로그에 필요한 값만 수집함 (리퀘스트 스레드에서 호출)
+     * 리퀘스트가 끝나면 다시 읽을 수 없는 바디, 헤더 등은 여기서 모두 가져오고, 문자열 포맷팅은 writeHttpLog(HttpLogRecord) 에서 처리함
+     */
+    public static void captureHttpLog(HttpServletRequest request, HttpServletResponse response, HttpLogRecord record) {
+        record.capturedNanos = System.nanoTime();
+
+        // 리퀘스트 정보 수집
+        captureHttpLog(request, record);
+
+        int responseStatus = response.getStatus();
+        Object responseObject = request.getAttribute(RESPONSE_OBJECT);
+
+        record.responseStatus = responseStatus;
+        record.responseObject = responseObject;
+        record.responseContentType = response.getContentType();
+
+        // 리스폰스로 실제 쓰여진 바이트 수 기록 (리스폰스 객체를 다시 직렬화하지 않고 CountingResponseWrapper 의 카운터를 사용함)
+        CountingResponseWrapper countingResponse = WebUtils.getNativeResponse(response, CountingResponseWrapper.class);
+        if (countingResponse != null) {
+            record.responseSize = countingResponse.getByteCount();
+        }
+
+        BodyCaptureResponseWrapper captureResponse = WebUtils.getNativeResponse(response, BodyCaptureResponseWrapper.class);
+        if (responseObject == null && captureResponse != null) {
+            // JSON 데이터 혹은 키/벨류 폼 데이터일 경우에만 해당 내용 노출
+            // 바디는 이미 클라이언트로 나갔으므로, 로깅용으로 복사해둔 앞부분만 가져옴
+            if (containsAny(response.getContentType(), "application/json", "application/x-www-form-urlencoded")) {
+                record.responseBody = captureResponse.getCapturedBody();
+                record.responseBodyTruncated = captureResponse.isTruncated();
+            }
+        }
+
+        // 리스폰스 시간 기록
+        if (request.getAttribute(REQUEST_START_TIME) instanceof Long) {
+            long startTime = (long) request.getAttribute(REQUEST_START_TIME);
+            record.hasRequestStartTime = true;
+            record.timeElapsed = System.currentTimeMillis() - startTime;
+        }
+
+        // 리스폰스 헤더는 TRACE 레벨에서만 수집함
+        if (log.isTraceEnabled()) {
+            Map<String, String> headers = new HashMap<>();
+            for (String key : response.getHeaderNames()) {
+                headers.put(key, response.getHeader(key));
+            }
+            record.responseHeaders = headers;
+        }
+
+        // 경고 플래그를 담은 리스트, 비동기 모드에선 다른 스레드에서 읽으므로 리퀘스트의 리스트를 복사해서 담음
+        if (request.getAttribute(WARNING_INFO_LIST) instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<String> warningInfoList = (List<String>) request.getAttribute(WARNING_INFO_LIST);
+            record.warningInfoList = new ArrayList<>(warningInfoList);
+        }
+    }
+
+    /**
+     * 리퀘스트 정보 수집
+     */
+    private static void captureHttpLog(HttpServletRequest request, HttpLogRecord record) {
+        // 보통 로드밸런서를 거치는 등 여러 서비스를 거치며 오기에 원본 IP를 알아내기 위해 헤더값을 조사함
+        record.ip = getIpAddr(request);
+        record.method = request.getMethod();
+
+        // 디버그/트레이스 모드일땐 도메인, 포트를 포함한 전체 URL, 아닌 경우 실제 path(URI)만 표시함
+        if (log.isDebugEnabled()) {
+            record.uri = request.getRequestURL().toString();
+        } else {
+            record.uri = request.getRequestURI();
+        }
+        record.queryString = request.getQueryString();
+
+        // 트랜잭션 Dry run이 활성화됐다면 해당 사실을 알려줌
+        record.dryRun = "true".equals(request.getAttribute("hanteoDryRun"));
+
+        record.requestContentType = request.getContentType();
+        record.requestContentLength = request.getContentLength();
+
+        try {
+            // 리퀘스트 바디에 대한 로깅
+            BodyCaptureRequestWrapper captureRequest = WebUtils.getNativeRequest(request, BodyCaptureRequestWrapper.class);
+            if (captureRequest != null) {
+                // JSON 데이터 혹은 키/벨류 폼 데이터일 경우에만 해당 내용 노출
+                if (containsAny(request.getContentType(), "application/json", "application/x-www-form-urlencoded")) {
+                    // 서블릿에서 바디를 한번이라도 호출했다면 앞부분이 복사되어 있으며
+                    // 서블릿에서 바디를 한번도 호출하지 않았다면 (@RequestBody 미사용 등...) 앞부분만 직접 읽어서 로깅할 수 있도록 함
+                    record.requestBody = captureRequest.readCapturedBody();
+                    record.requestBodyTruncated = captureRequest.isTruncated();
+                }
+            }
+        } catch (IOException e) {
+            record.requestBodyError = e.getMessage() + " (" + e.getClass().getCanonicalName() + ")";
+        }
+
+        // 리퀘스트 헤더는 TRACE 레벨에서만 수집함
+        if (log.isTraceEnabled()) {
+            Map<String, String> headers = new HashMap<>();
+            Enumeration<String> headerKeys = request.getHeaderNames();
+            while (headerKeys.hasMoreElements()) {
+                String key = headerKeys.nextElement();
+                headers.put(key, request.getHeader(key));
+            }
+            record.requestHeaders = headers;
+        }
+    }
 
+    /**
+     * 수집된 로그 레코드를 문자열로 만들어 로깅
+     * 비동기 모드에서는 HttpLogDispatcher 의 소비 스레드에서 호출되므로, 리퀘스트 객체나 RequestContextHolder 에 접근하면 안됨
+     *
+     * @param result 로그 문자열을 담을 버퍼 (비동기 모드에서는 재사용됨)
+     */
+    public static void writeHttpLog(HttpLogRecord record, StringBuilder result) {
         // 리퀘스트 로그를 먼저 뿌려줌
-        StringBuilder result = writeHttpLog(request);
+        writeRequestLog(record, result);
 
-        long responseSize = -1;
-        if (responseObject == null && response instanceof ContentCachingResponseWrapper) {
-            // 받아온 바이트 수 기록
-            responseSize = ((ContentCachingResponseWrapper) response).getContentSize();
+        int responseStatus = record.responseStatus;
+        Object responseObject = record.responseObject;
 
+        long responseSize = record.responseSize;
+        if (responseObject == null && responseSize >= 0) {
             // JSON 데이터 혹은 키/벨류 폼 데이터일 경우에만 해당 내용 노출
             // 나머지는 API 서버에서 의미없는 데이터(text/plain 등) 혹은 읽기 힘든 데이터(이미지, 바이너리 등)일 가능성이 있으므로, 전송된 MIME 형식과 바이트 용량만 표시
-            if (containsAny(response.getContentType(), "application/json", "application/x-www-form-urlencoded")) {
+            if (record.responseBody != null) {
                 // AOP 등으로 받아온 리스폰스 객체가 없을 경우(AOP 이전 필터단에서 에러가 뜰 경우) 리스폰스 바디 스트링값을 들고와서 뿌려줌
-                String responseBody = new String(((ContentCachingResponseWrapper) response).getContentAsByteArray());
+                String responseBody = new String(record.responseBody);
                 if (!isEmpty(responseBody)) {
                     result.append("Response body with status ").append(responseStatus).append(": ").append(responseBody);
+                    if (record.responseBodyTruncated) result.append("...(truncated)");
                 }
-            } else if (response.getContentType() != null) {
+            } else if (record.responseContentType != null) {
                 // 컨텐츠 타입이 있을 경우 컨텐츠 타입 및 리스폰스 사이즈를 표시해줌
-                result.append("Response body with status ").append(responseStatus).append(" and MIME type '").append(response.getContentType()).append("'");
+                result.append("Response body with status ").append(responseStatus).append(" and MIME type '").append(record.responseContentType).append("'");
             } else if (responseStatus > 0) {
                 // 바디가 비어있을 경우 Status라도 보여줌 (0번, 미설정 제외)
                 result.append("Response status ").append(responseStatus);
@@ -158,14 +283,11 @@ public class HttpLogger {
                     }
                 }
             } else {
-                // 리스폰스 바이트 기록을 위해 모든 상황에서 Json 파싱을 함 / TODO 혹시 다른 대안이 있다면 사용바람
-                String responseJSON = JsonUtils.toJson(responseObject);
-                responseSize = responseJSON.length();
-
+                // 리스폰스 바이트 수는 CountingResponseWrapper 에서 센 값을 사용하므로, JSON 직렬화는 DEBUG 레벨에서 바디를 보여줄 때만 함
                 // DEBUG 아래의 레벨일 때만 리스폰스 바디 데이터를 보여줌
                 if (log.isDebugEnabled()) {
                     // 일반적으로 AOP를 거친 RestController들은 객체를 반환하며, 그 객체의 JSON 스트링을 로깅함
-                    result.append("Response JSON: ").append(responseJSON);
+                    result.append("Response JSON: ").append(JsonUtils.toJson(responseObject));
                 } else if (responseObject instanceof ResultInfo) {
                     // 이외의 경우에도 ResultInfo의 코드는 리턴해줌
                     ResultInfo resultInfo = (ResultInfo) responseObject;
@@ -174,21 +296,15 @@ public class HttpLogger {
             }
         }
 
-        boolean hasRequestStartTime = request.getAttribute(REQUEST_START_TIME) instanceof Long;
+        boolean hasRequestStartTime = record.hasRequestStartTime;
         boolean hasResponseSize = responseSize > 0;
         if (hasRequestStartTime || hasResponseSize) {
             result.append(" (");
             // 리스폰스 시간 기록
             if (hasRequestStartTime) {
-                long startTime = (long) request.getAttribute(REQUEST_START_TIME);
-                long timeElapsed = System.currentTimeMillis() - startTime;
+                long timeElapsed = record.timeElapsed;
 
                 result.append(String.format("%.2f", timeElapsed / 1000F)).append(" second(s) elapsed");
-
-                // 리스폰스에 걸리는 시간이 길다면 API 자체에 무언가 문제가 있으므로 리퀘스트 로그를 WARN 레벨로 격상
-                if (timeElapsed > SLOW_RESPONSE_WARNING_MILLIS) {
-                    setWarningInfo("Slow response");
-                }
             }
             // 둘 다 기록해야한다면, 자연스러운 문장을 만들기 위해 쉼표를 넣어줌
             if (hasRequestStartTime && hasResponseSize) {
@@ -197,11 +313,6 @@ public class HttpLogger {
             // 리스폰스 크기 기록
             if (hasResponseSize) {
                 result.append(String.format("%,d", responseSize)).append(" byte(s) sent");
-
-                // 리스폰스 데이터로 대용량 전송을 한다면 API 자체에 무언가 문제가 있으므로 리퀘스트 로그를 WARN 레벨로 격상
-                if (responseSize > LARGE_RESPONSE_BODY_WARNING_SIZE) {
-                    setWarningInfo("Large response body");
-                }
             }
             result.append(")");
         }
@@ -209,126 +320,74 @@ public class HttpLogger {
         // 리스폰스 데이터가 필요할 경우도 있으므로, 해당 객체도 로깅하되 TRACE 레벨에서 로깅하도록 함
         // 평소엔 정말 필요없는 정보지만, 간혹 Response 헤더로 CORS 관련 헤더를 프론트에서 요구하기도 하므로
         // 필요한 경우 TRACE 레벨까지 내려서 디버깅할 수 있도록 함
-        if (log.isTraceEnabled()) {
-            List<String> headerKeys = new ArrayList<>(response.getHeaderNames());
-
-            Map<String, String> headers = new HashMap<>();
-            for (String key : headerKeys) {
-                headers.put(key, response.getHeader(key));
-            }
-
-            for (String key : headers.keySet()) {
-                result.append("\n\tResponse Header '").append(key).append("': '").append(headers.get(key)).append("'");
+        if (record.responseHeaders != null) {
+            for (Map.Entry<String, String> header : record.responseHeaders.entrySet()) {
+                result.append("\n\tResponse Header '").append(header.getKey()).append("': '").append(header.getValue()).append("'");
             }
         }
 
         // 경고 플래그를 담은 리스트
-        Object warningInfoList = request.getAttribute(WARNING_INFO_LIST);
+        List<String> warningInfoList = record.warningInfoList;
 
         // 크리티컬한 에러일때만 에러로그로, 경고 플래그가 세워진다면 WARN 로그로, 이외엔 INFO 로그로 생성
+        // 비동기 모드에선 버퍼가 재사용되므로 문자열로 변환해서 넘겨줌
         if (isCriticalException(responseObject)) {
-            log.error("\n{}\n", result);
+            log.error("\n{}\n", result.toString());
         } else if (warningInfoList != null) {
             // 로그의 마지막은 \n으로 끝나기에, 붙여서 WARNING을 씀
-            log.warn("\n{}\nREQUEST/RESPONSE WARNING: {}\n", result, warningInfoList);
+            log.warn("\n{}\nREQUEST/RESPONSE WARNING: {}\n", result.toString(), warningInfoList);
         } else {
-            log.info("\n{}\n", result);
+            log.info("\n{}\n", result.toString());
         }
     }
 
     /**
      * 리퀘스트 로깅
      */
-    private static StringBuilder writeHttpLog(HttpServletRequest request) {
-        StringBuilder result = new StringBuilder();
-
-        Enumeration<String> headerKeys = request.getHeaderNames();
-
-        // 보통 로드밸런서를 거치는 등 여러 서비스를 거치며 오기에 원본 IP를 알아내기 위해 헤더값을 조사함
-        String ip = getIpAddr(request);
-
-        String method = request.getMethod();
-
-        // 디버그/트레이스 모드일땐 도메인, 포트를 포함한 전체 URL, 아닌 경우 실제 path(URI)만 표시함
-        String uri;
-        if (log.isDebugEnabled()) {
-            uri = request.getRequestURL().toString();
-        } else {
-            uri = request.getRequestURI();
-        }
+    private static void writeRequestLog(HttpLogRecord record, StringBuilder result) {
+        String uri = record.uri;
 
         // URI에 쿼리스트링을 가지고 있을 경우 함께 출력함
-        if (!isEmpty(request.getQueryString())) {
-            uri += "?"+request.getQueryString();
+        if (!isEmpty(record.queryString)) {
+            uri += "?" + record.queryString;
         }
 
         result.append("Requested URI '")
-              .append(method).append(" ").append(uri)
-              .append("'").append(", IP '").append(ip).append("'");
+              .append(record.method).append(" ").append(uri)
+              .append("'").append(", IP '").append(record.ip).append("'");
 
         // 트랜잭션 Dry run이 활성화됐다면 해당 사실을 알려줌
-        if ("true".equals(request.getAttribute("hanteoDryRun"))) {
+        if (record.dryRun) {
             result.append(", with transaction dry run");
-            setWarningInfo("Transaction dry run");
+            record.addWarningInfo("Transaction dry run");
         }
 
         result.append("\n");
 
-        try {
-            // 리퀘스트 바디에 대한 로깅
-            if (request instanceof ContentCachingRequestWrapper) {
-                // 리퀘스트 바디로 대용량의 무언가가 들어왔다면 문제가 있는 것으로 판명, 아이피 및 호출한 URI 기재
-                if (request.getContentLength() > LARGE_REQUEST_BODY_WARNING_SIZE) {
-                    setWarningInfo("Large request body");
-                }
-
-                // JSON 데이터 혹은 키/벨류 폼 데이터일 경우에만 해당 내용 노출
-                // 나머지는 API 서버에서 의미없는 데이터(text/plain 등) 혹은 읽기 힘든 데이터(이미지, 바이너리 등)일 가능성이 있으므로, 전송된 MIME 형식과 바이트 용량만 표시
-                if (containsAny(request.getContentType(), "application/json", "application/x-www-form-urlencoded")) {
-                    // 서블릿에서 바디를 한번이라도 호출했다면 getContentAsByteArray() 에 기록됨
-                    byte[] bodyBytes = ((ContentCachingRequestWrapper) request).getContentAsByteArray();
-
-                // 하지만 서블릿에서 바디를 한번도 호출하지 않았다면 (@RequestBody 미사용 등...)
-                // 위에서 기록되지 않으므로, 수동으로 InputStream을 호출하여 로깅을 할 수 있도록 함
-                if ((bodyBytes.length == 0) && request.getContentLength() > 0) {
-                    bodyBytes = new byte[request.getContentLength()];
-
-                        InputStream input = request.getInputStream();
-                        for (int cursor = 0; cursor < request.getContentLength(); cursor++) {
-                            bodyBytes[cursor] = (byte) input.read();
-                        }
-                        input.close();
-                    }
-
-                    // Byte 배열을 String으로 변환하여 읽어들인 뒤, 로깅 진행
-                    String requestBody = new String(bodyBytes);
-                    if (!isEmpty(requestBody)) {
-                        result.append("Request body: ").append(requestBody).append("\n");
-                    }
-                } else if (request.getContentType() != null && request.getContentLength() > 0) { // contentType이 null인 경우는 리퀘스트 바디가 없는 경우임 (단순 GET 혹은 쿼리스트링만 존재하는 API 등)
-                    result.append("Request body with MIME type '").append(request.getContentType())
-                          .append("', ").append(String.format("%,d", request.getContentLength())).append(" byte(s) received").append("\n");
-                }
+        // 리퀘스트 바디에 대한 로깅
+        if (record.requestBodyError != null) {
+            result.append("Request body: 'ERROR DURING FETCH REQUEST BODY: ").append(record.requestBodyError).append("'\n");
+        } else if (record.requestBody != null) {
+            // Byte 배열을 String으로 변환하여 읽어들인 뒤, 로깅 진행
+            String requestBody = new String(record.requestBody);
+            if (!isEmpty(requestBody)) {
+                result.append("Request body: ").append(requestBody);
+                if (record.requestBodyTruncated) result.append("...(truncated)");
+                result.append("\n");
             }
-        } catch (IOException e) {
-            result.append("Request body: 'ERROR DURING FETCH REQUEST BODY: ").append(e.getMessage()).append(" (").append(e.getClass().getCanonicalName()).append(")").append("'\n");
+        } else if (record.requestContentType != null && record.requestContentLength > 0) { // contentType이 null인 경우는 리퀘스트 바디가 없는 경우임 (단순 GET 혹은 쿼리스트링만 존재하는 API 등)
+            // 나머지는 API 서버에서 의미없는 데이터(text/plain 등) 혹은 읽기 힘든 데이터(이미지, 바이너리 등)일 가능성이 있으므로, 전송된 MIME 형식과 바이트 용량만 표시
+            result.append("Request body with MIME type '").append(record.requestContentType)
+                  .append("', ").append(String.format("%,d", record.requestContentLength)).append(" byte(s) received").append("\n");
         }
 
         // 리퀘스트 헤더에 대한 로깅 (트레이스 레벨일때만 활성화)
-        if (log.isTraceEnabled()) {
-            Map<String, String> headers = new HashMap<>();
-            while (headerKeys.hasMoreElements()) {
-                String key = headerKeys.nextElement();
-                headers.put(key, request.getHeader(key));
-            }
-
+        if (record.requestHeaders != null) {
             // 나머지 헤더들을 기록 (트레이스 레벨에서만 기록하도록 하여, debug 레벨 이상에서의 불필요한 로깅 방지)
-            for (String key : headers.keySet()) {
-                result.append("\tHeader '").append(key).append("': '").append(headers.get(key)).append("'\n");
+            for (Map.Entry<String, String> header : record.requestHeaders.entrySet()) {
+                result.append("\tHeader '").append(header.getKey()).append("': '").append(header.getValue()).append("'\n");
             }
         }
-
-        return result;
     }
 
 
@@ -0,0 +1,80 @@
+package com.multi.process.rest.client;
+
+import org.junit.jupiter.api.Test;
+
+import static com.multi.process.rest.client.CircuitBreaker.NO_PERMISSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CircuitBreakerTest {
+    // 2번 중 1번 실패하면 열리고, 바로 HALF_OPEN 으로 넘어가서 1개의 호출로 확인함
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, 2, 50, 0, 1);
+
+    @Test
+    void opensOnFailureRateAndClosesAfterProbe() {
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        long probe = circuitBreaker.tryAcquirePermission();
+        assertNotEquals(NO_PERMISSION, probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void ignoresSuccessOfCallPermittedBeforeOpen() {
+        // CLOSED 에서 허용된 느린 호출
+        long slow = circuitBreaker.tryAcquirePermission();
+        openAndStartProbe();
+
+        // 탐색 호출이 아니므로 서킷을 닫으면 안됨
+        circuitBreaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void ignoresFailureOfCallPermittedBeforeOpen() {
+        long slow = circuitBreaker.tryAcquirePermission();
+        long probe = openAndStartProbe();
+
+        // 이전 상태의 실패로 다시 열리지 않고, 탐색 호출의 결과로만 닫힘
+        circuitBreaker.onFailure(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void ignoresReleaseOfCallPermittedBeforeOpen() {
+        long slow = circuitBreaker.tryAcquirePermission();
+        openAndStartProbe();
+
+        // 탐색 기회를 돌려주지 않으므로 추가 탐색 호출은 여전히 거부됨
+        circuitBreaker.releasePermission(slow);
+        assertEquals(NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releaseOfProbeAllowsAnotherProbe() {
+        long probe = openAndStartProbe();
+
+        circuitBreaker.releasePermission(probe);
+        assertNotEquals(NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+    }
+
+    // 서킷을 열고 HALF_OPEN 의 탐색 호출 permit 을 돌려줌
+    private long openAndStartProbe() {
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        long probe = circuitBreaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        return probe;
+    }
+}